@@ -116,6 +116,35 @@ def generate_dummy_career_recommendations(userId: int, skills: List[str], experi
         }
     }
 
+# Dummy regional market data; "global" is used for regions without their own entry
+MARKET_TRENDS_BY_REGION = {
+    "global": {
+        "hot_skills": ["Python", "React", "Docker"],
+        "growing_roles": ["DevOps Engineer", "Data Scientist"],
+        "salary_trends": "Increasing by 15% annually"
+    },
+    "remote": {
+        "hot_skills": ["TypeScript", "AWS", "Kubernetes"],
+        "growing_roles": ["Platform Engineer", "Full Stack Developer"],
+        "salary_trends": "Increasing by 8% annually"
+    },
+    "san francisco": {
+        "hot_skills": ["Machine Learning", "Python", "Go"],
+        "growing_roles": ["ML Engineer", "AI Researcher"],
+        "salary_trends": "Increasing by 12% annually"
+    },
+    "new york": {
+        "hot_skills": ["Java", "SQL", "React"],
+        "growing_roles": ["Backend Engineer", "Data Engineer"],
+        "salary_trends": "Increasing by 10% annually"
+    },
+    "london": {
+        "hot_skills": ["C#", "Azure", "React"],
+        "growing_roles": ["Cloud Engineer", "Security Engineer"],
+        "salary_trends": "Increasing by 6% annually"
+    }
+}
+
 @router.post("/analyze", response_model=AIAnalysisResponse)
 async def analyze_content(request: AIAnalysisRequest):
     """Analyze content using AI services"""
@@ -174,6 +203,16 @@ async def get_career_recommendations(request: CareerRecommendationRequest):
     except Exception as e:
         raise HTTPException(status_code=500, detail=f"Recommendation generation failed: {str(e)}")
 
+@router.get("/market-trends")
+async def get_market_trends(region: str = "global"):
+    """Get market trends for a region"""
+    trends = MARKET_TRENDS_BY_REGION.get(region.lower(), MARKET_TRENDS_BY_REGION["global"])
+    return {
+        "region": region.lower(),
+        **trends,
+        "generated_at": datetime.now().isoformat()
+    }
+
 @router.get("/health")
 async def health_check():
     """Health check endpoint"""
@@ -193,6 +232,7 @@ async def service_status():
         "endpoints": [
             "/analyze",
             "/career-recommendations",
+            "/market-trends",
             "/health"
         ],
         "uptime": "99.9%",
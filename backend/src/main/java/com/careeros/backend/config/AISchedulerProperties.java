@@ -0,0 +1,67 @@
+package com.careeros.backend.config;
+
+import com.careeros.backend.model.Role;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "ai.scheduler")
+public class AISchedulerProperties {
+    /** Upstream AI calls allowed in flight at once */
+    private int maxConcurrency = 16;
+
+    /**
+     * Callers allowed to wait for a slot before new work is shed. Each one parks a
+     * server thread, so this plus maxConcurrency is kept to half of the server's threads.
+     */
+    private int maxQueue = 48;
+
+    private long maxWaitMs = 10000;
+
+    private int defaultWeight = 1;
+
+    private Map<Role, Integer> weights = new EnumMap<>(Role.class);
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    public int getMaxQueue() {
+        return maxQueue;
+    }
+
+    public void setMaxQueue(int maxQueue) {
+        this.maxQueue = maxQueue;
+    }
+
+    public long getMaxWaitMs() {
+        return maxWaitMs;
+    }
+
+    public void setMaxWaitMs(long maxWaitMs) {
+        this.maxWaitMs = maxWaitMs;
+    }
+
+    public int getDefaultWeight() {
+        return defaultWeight;
+    }
+
+    public void setDefaultWeight(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public Map<Role, Integer> getWeights() {
+        return weights;
+    }
+
+    public void setWeights(Map<Role, Integer> weights) {
+        this.weights = weights;
+    }
+}
@@ -0,0 +1,203 @@
+package com.careeros.backend.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Creates the indexes behind CandidateSearchService. The schema comes from Hibernate,
+ * which cannot declare expression or GIN indexes, so they are created here on startup.
+ *
+ * On Postgres, pg_trgm GIN indexes on lower(username), lower(email) and the lower-cased
+ * full name serve both 'abc%' and '%abc%' patterns. They are built CONCURRENTLY so an
+ * existing users table stays writable while they are created. Other databases (H2 in
+ * tests) only get the role lookup index: a btree cannot serve lower(col) LIKE '%term%',
+ * so name, username and email matching scans the users table there. Indexed substring
+ * search is Postgres-only.
+ *
+ * The builds run on a background thread, so they never hold up readiness, and on
+ * Postgres only the instance holding an advisory lock builds; the others skip. A
+ * CONCURRENTLY build that failed leaves an INVALID index behind, which IF NOT EXISTS
+ * would keep forever, so invalid indexes are dropped and built again.
+ */
+@Component
+@Order(0)
+public class CandidateSearchIndexInitializer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CandidateSearchIndexInitializer.class);
+
+    /** Arbitrary, shared by every instance: pg_try_advisory_lock key for the index builds */
+    private static final long POSTGRES_LOCK_KEY = 0x63616e6469646174L;
+
+    /**
+     * concat_ws is only STABLE in Postgres and cannot appear in an index expression, so
+     * the full name goes through an IMMUTABLE wrapper that the search query also calls
+     */
+    private static final String POSTGRES_FULL_NAME_FUNCTION =
+            "CREATE OR REPLACE FUNCTION candidate_full_name(first_name text, last_name text) RETURNS text "
+                    + "LANGUAGE sql IMMUTABLE PARALLEL SAFE AS $$ SELECT lower(concat_ws(' ', first_name, last_name)) $$";
+
+    private record Index(String name, String definition) {}
+
+    private static final List<Index> POSTGRES_INDEXES = List.of(
+            new Index("idx_users_username_trgm", "ON users USING gin (lower(username) gin_trgm_ops)"),
+            new Index("idx_users_email_trgm", "ON users USING gin (lower(email) gin_trgm_ops)"),
+            new Index("idx_users_full_name_trgm",
+                    "ON users USING gin (candidate_full_name(first_name, last_name) gin_trgm_ops)"),
+            new Index("idx_user_roles_role_user", "ON user_roles (role, user_id)"));
+
+    private static final List<String> GENERIC_INDEXES = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_user_roles_role_user ON user_roles (role, user_id)");
+
+    @Value("${app.candidate-search.create-indexes:true}")
+    private boolean enabled;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate primaryTransaction;
+
+    private volatile String product;
+
+    private volatile String fullNameExpression;
+
+    public CandidateSearchIndexInitializer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        // The first search may run in a read-only transaction, bound to the replica
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The lower-cased full name of the users row aliased u, as the full name index has it.
+     * The first call creates the function on Postgres, even when indexes are managed
+     * elsewhere, since the search query depends on it.
+     */
+    public String fullNameExpression() {
+        String expression = fullNameExpression;
+        if (expression == null) {
+            synchronized (this) {
+                if (fullNameExpression == null) {
+                    fullNameExpression = createFullNameFunction()
+                            ? "candidate_full_name(u.first_name, u.last_name)"
+                            : "lower(concat_ws(' ', u.first_name, u.last_name))";
+                }
+                expression = fullNameExpression;
+            }
+        }
+        return expression;
+    }
+
+    private boolean createFullNameFunction() {
+        product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!isPostgres()) {
+            return false;
+        }
+        try {
+            if (!fullNameFunctionExists()) {
+                primaryTransaction.executeWithoutResult(status -> jdbcTemplate.execute(POSTGRES_FULL_NAME_FUNCTION));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            // Another instance may have created it at the same moment
+            if (Boolean.TRUE.equals(primaryTransaction.execute(status -> fullNameFunctionExists()))) {
+                return true;
+            }
+            logger.warn("Could not create candidate_full_name, full name search will not use an index: {}",
+                    e.getMessage());
+            return false;
+        }
+    }
+
+    private boolean fullNameFunctionExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT to_regprocedure('candidate_full_name(text,text)') IS NOT NULL", Boolean.class));
+    }
+
+    private boolean isPostgres() {
+        return "PostgreSQL".equals(product);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        fullNameExpression();
+        if (!enabled) {
+            return;
+        }
+        Thread builder = new Thread(this::createIndexes, "candidate-search-indexes");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void createIndexes() {
+        long start = System.nanoTime();
+        try {
+            if (isPostgres()) {
+                jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                    // Advisory locks belong to the session, so everything runs on this one connection
+                    createPostgresIndexes(new JdbcTemplate(new SingleConnectionDataSource(connection, true)));
+                    return null;
+                });
+            } else {
+                for (String statement : GENERIC_INDEXES) {
+                    jdbcTemplate.execute(statement);
+                }
+            }
+            logger.info("Candidate search indexes checked on {} in {} ms", product,
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            logger.warn("Could not create candidate search indexes: {}", e.getMessage());
+        }
+    }
+
+    private void createPostgresIndexes(JdbcTemplate session) {
+        if (!Boolean.TRUE.equals(session.queryForObject("SELECT pg_try_advisory_lock(?)", Boolean.class,
+                POSTGRES_LOCK_KEY))) {
+            logger.info("Candidate search indexes are being built by another instance");
+            return;
+        }
+        try {
+            try {
+                session.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            } catch (RuntimeException e) {
+                // Missing privileges for CREATE EXTENSION only make search slower, not wrong
+                logger.warn("Could not create extension pg_trgm: {}", e.getMessage());
+            }
+            for (Index index : POSTGRES_INDEXES) {
+                try {
+                    createConcurrently(session, index);
+                } catch (RuntimeException e) {
+                    logger.warn("Could not create candidate search index {}: {}", index.name(), e.getMessage());
+                }
+            }
+        } finally {
+            session.queryForObject("SELECT pg_advisory_unlock(?)", Boolean.class, POSTGRES_LOCK_KEY);
+        }
+    }
+
+    private void createConcurrently(JdbcTemplate session, Index index) {
+        List<Boolean> valid = session.queryForList("SELECT i.indisvalid FROM pg_index i "
+                + "JOIN pg_class c ON c.oid = i.indexrelid "
+                + "WHERE c.relname = ? AND pg_table_is_visible(c.oid)", Boolean.class, index.name());
+        if (valid.contains(Boolean.TRUE)) {
+            return;
+        }
+        if (!valid.isEmpty()) {
+            logger.warn("Candidate search index {} is invalid, building it again", index.name());
+            session.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index.name());
+        }
+        session.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + index.name() + " " + index.definition());
+    }
+}
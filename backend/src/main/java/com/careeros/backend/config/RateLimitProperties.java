@@ -0,0 +1,83 @@
+package com.careeros.backend.config;
+
+import com.careeros.backend.model.Role;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "ai.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    private long idleEvictionMs = 300000;
+
+    private Limit defaultLimit = new Limit(10, 10);
+
+    private Map<Role, Limit> roles = new EnumMap<>(Role.class);
+
+    public static class Limit {
+        /** Maximum burst size */
+        private int capacity;
+
+        /** Sustained rate once the burst is used up */
+        private int requestsPerMinute;
+
+        public Limit() {}
+
+        public Limit(int capacity, int requestsPerMinute) {
+            this.capacity = capacity;
+            this.requestsPerMinute = requestsPerMinute;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public int getRequestsPerMinute() {
+            return requestsPerMinute;
+        }
+
+        public void setRequestsPerMinute(int requestsPerMinute) {
+            this.requestsPerMinute = requestsPerMinute;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getIdleEvictionMs() {
+        return idleEvictionMs;
+    }
+
+    public void setIdleEvictionMs(long idleEvictionMs) {
+        this.idleEvictionMs = idleEvictionMs;
+    }
+
+    public Limit getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(Limit defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Map<Role, Limit> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(Map<Role, Limit> roles) {
+        this.roles = roles;
+    }
+}
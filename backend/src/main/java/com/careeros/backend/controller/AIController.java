@@ -7,14 +7,34 @@ import com.careeros.backend.payload.response.CareerRecommendationResponse;
 import com.careeros.backend.payload.response.MessageResponse;
 import com.careeros.backend.security.UserDetailsImpl;
 import com.careeros.backend.service.AIService;
+import com.careeros.backend.service.AIScheduler;
+import com.careeros.backend.service.AIServiceUnavailableException;
+import com.careeros.backend.service.AnalysisReuseService;
+import com.careeros.backend.service.CareerRecommendationService;
+import com.careeros.backend.service.IdempotencyKeyException;
+import com.careeros.backend.service.IdempotencyService;
+import com.careeros.backend.service.OutboxService;
+import com.careeros.backend.service.UsageMeteringService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @CrossOrigin(origins = "*", maxAge = 3600)
@@ -22,11 +42,44 @@ import java.util.Map;
 @RequestMapping("/api/ai")
 public class AIController {
     
+    private static final Logger logger = LoggerFactory.getLogger(AIController.class);
+    
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
+    private static final String NEAR_DUPLICATE_OF = "Near-Duplicate-Of";
+    
     @Autowired
     private AIService aiService;
     
+    @Autowired
+    private UsageMeteringService usageMeteringService;
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private AIScheduler aiScheduler;
+    
+    @Autowired
+    private AnalysisReuseService analysisReuseService;
+    
+    @Autowired
+    private CareerRecommendationService careerRecommendationService;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
     @PostMapping("/analyze")
-    public ResponseEntity<?> analyzeContent(@Valid @RequestBody AIAnalysisRequest request) {
+    public ResponseEntity<?> analyzeContent(@Valid @RequestBody AIAnalysisRequest request,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
             // Get current user from security context
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -35,17 +88,107 @@ public class AIController {
             // Set the user ID from the authenticated user
             request.setUserId(userDetails.getId().intValue());
             
-            AIAnalysisResponse response = aiService.analyzeContent(request);
-            return ResponseEntity.ok(response);
+            IdempotencyService.Result<AnalysisReuseService.Result> result = idempotencyService.execute(
+                    userDetails.getId(), "analyze", idempotencyKey, request,
+                    () -> analysisReuseService.analyze(userDetails.getId(), request, () -> analysisCompleted(
+                            aiScheduler.run(userDetails, () -> aiService.analyzeContent(request)))));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()));
+            if (result.value().reusedAnalysisId() != null) {
+                response.header(NEAR_DUPLICATE_OF, result.value().reusedAnalysisId());
+            }
+            return response.body(result.value().response());
             
+        } catch (IdempotencyKeyException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(new MessageResponse("AI analysis failed: " + e.getMessage()));
+        } catch (AIServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MessageResponse("AI analysis failed: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("AI analysis failed: " + e.getMessage()));
         }
     }
     
+    /**
+     * Record an analysis.completed event for consumers of the outbox. Reused analyses
+     * are not new analyses and do not get one.
+     *
+     * The AI call has already succeeded and been billed by now, so a failed insert is
+     * logged and counted rather than failing the request and losing the result.
+     */
+    private AIAnalysisResponse analysisCompleted(AIAnalysisResponse response) {
+        try {
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("analysisId", response.getAnalysisId());
+            event.put("userId", response.getUserId());
+            event.put("analysisType", response.getAnalysisType());
+            event.put("status", response.getStatus());
+            event.put("confidenceScore", response.getConfidenceScore());
+            outboxService.record(OutboxService.ANALYSIS, response.getAnalysisId(), OutboxService.ANALYSIS_COMPLETED,
+                    event);
+        } catch (RuntimeException e) {
+            outboxFailure(e);
+        }
+        return response;
+    }
+    
+    /** The same for a streamed analysis, from the response body as it was sent */
+    private void analysisCompleted(byte[] responseBody) {
+        AIAnalysisResponse response;
+        try {
+            response = objectMapper.readValue(responseBody, AIAnalysisResponse.class);
+        } catch (IOException e) {
+            outboxFailure(e);
+            return;
+        }
+        analysisCompleted(response);
+    }
+    
+    private void outboxFailure(Exception e) {
+        meterRegistry.counter("outbox.record.failures", "type", OutboxService.ANALYSIS_COMPLETED).increment();
+        logger.warn("Could not record {} in the outbox: {}", OutboxService.ANALYSIS_COMPLETED, e.getMessage());
+    }
+    
+    /**
+     * Pass-through mode for large documents: the body is checked while it is streamed
+     * to the AI service instead of being bound to an AIAnalysisRequest.
+     */
+    @PostMapping(value = "/analyze", params = "stream=true")
+    public void analyzeContentStream(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try {
+            // Get current user from security context
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            byte[] analysis = aiScheduler.run(userDetails, () -> {
+                try {
+                    return aiService.analyzeContentStreaming(request.getInputStream(), userDetails.getId().intValue(),
+                            response.getOutputStream());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            analysisCompleted(analysis);
+            
+        } catch (Exception e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.setStatus(e instanceof AIServiceUnavailableException
+                    ? HttpStatus.SERVICE_UNAVAILABLE.value() : HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new MessageResponse("AI analysis failed: " + e.getMessage()));
+        }
+    }
+    
     @PostMapping("/career-recommendations")
-    public ResponseEntity<?> getCareerRecommendations(@Valid @RequestBody CareerRecommendationRequest request) {
+    public ResponseEntity<?> getCareerRecommendations(@Valid @RequestBody CareerRecommendationRequest request,
+                                                      @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
         try {
             // Get current user from security context
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -54,15 +197,45 @@ public class AIController {
             // Set the user ID from the authenticated user
             request.setUserId(userDetails.getId().intValue());
             
-            CareerRecommendationResponse response = aiService.getCareerRecommendations(request);
-            return ResponseEntity.ok(response);
+            IdempotencyService.Result<CareerRecommendationResponse> result = idempotencyService.execute(
+                    userDetails.getId(), "career-recommendations", idempotencyKey, request,
+                    () -> careerRecommendationService.recommend(userDetails, request));
+            return ResponseEntity.ok()
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.replayed()))
+                    .body(result.value());
             
+        } catch (IdempotencyKeyException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(new MessageResponse("Career recommendations failed: " + e.getMessage()));
+        } catch (AIServiceUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(new MessageResponse("Career recommendations failed: " + e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
                     .body(new MessageResponse("Career recommendations failed: " + e.getMessage()));
         }
     }
     
+    @GetMapping("/usage")
+    public ResponseEntity<?> getUsage() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+        
+        return ResponseEntity.ok(usageMeteringService.getUsage(userDetails.getId()));
+    }
+    
+    @GetMapping("/usage/{userId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getUsageForUser(@PathVariable Long userId) {
+        return ResponseEntity.ok(usageMeteringService.getUsage(userId));
+    }
+    
+    @GetMapping("/scheduler")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getSchedulerStats() {
+        return ResponseEntity.ok(aiScheduler.snapshot());
+    }
+    
     @GetMapping("/health")
     public ResponseEntity<?> checkAIHealth() {
         try {
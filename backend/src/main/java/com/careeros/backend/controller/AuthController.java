@@ -7,20 +7,28 @@ import com.careeros.backend.payload.request.SignupRequest;
 import com.careeros.backend.payload.response.JwtResponse;
 import com.careeros.backend.payload.response.MessageResponse;
 import com.careeros.backend.repository.UserRepository;
+import com.careeros.backend.security.AuthAuditEvent;
+import com.careeros.backend.security.AuthAuditLog;
 import com.careeros.backend.security.JwtUtils;
 import com.careeros.backend.security.UserDetailsImpl;
+import com.careeros.backend.service.OutboxService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -40,11 +48,28 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
-    @PostMapping("/signin")
-    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
+    @Autowired
+    OutboxService outboxService;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    AuthAuditLog authAuditLog;
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+    @PostMapping("/signin")
+    public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest,
+                                              HttpServletRequest request) {
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
+        } catch (AuthenticationException e) {
+            authAuditLog.publish(AuthAuditEvent.Type.LOGIN_FAILED, loginRequest.getUsername(), null,
+                    request.getRemoteAddr(), e.getClass().getSimpleName());
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -53,6 +78,8 @@ public class AuthController {
         List<String> roles = userDetails.getAuthorities().stream()
                 .map(item -> item.getAuthority())
                 .collect(Collectors.toList());
+        authAuditLog.publish(AuthAuditEvent.Type.SIGN_IN, userDetails.getUsername(), userDetails.getId(),
+                request.getRemoteAddr(), null);
 
         return ResponseEntity.ok(new JwtResponse(jwt,
                 userDetails.getId(),
@@ -113,16 +140,32 @@ public class AuthController {
         }
 
         user.setRoles(roles);
-        userRepository.save(user);
+        // The user.registered event commits or rolls back with the user
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.save(user);
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("userId", user.getId());
+            event.put("username", user.getUsername());
+            event.put("email", user.getEmail());
+            event.put("roles", roles.stream().map(Role::name).sorted().toList());
+            outboxService.record(OutboxService.USER, user.getId(), OutboxService.USER_REGISTERED, event);
+        });
 
         return ResponseEntity.ok(new MessageResponse("User registered successfully!"));
     }
 
     @PostMapping("/logout")
-    public ResponseEntity<?> logout() {
+    public ResponseEntity<?> logout(HttpServletRequest request) {
         // In a stateless JWT setup, logout is handled client-side
-        // by removing the token. This endpoint can be used for logging
-        // logout events or future server-side token blacklisting.
+        // by removing the token. This endpoint records it in the audit log
+        // and can be used for future server-side token blacklisting.
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetailsImpl userDetails) {
+            authAuditLog.publish(AuthAuditEvent.Type.LOGOUT, userDetails.getUsername(), userDetails.getId(),
+                    request.getRemoteAddr(), null);
+        } else {
+            authAuditLog.publish(AuthAuditEvent.Type.LOGOUT, null, null, request.getRemoteAddr(), "anonymous");
+        }
         return ResponseEntity.ok(new MessageResponse("Logged out successfully"));
     }
 
@@ -0,0 +1,63 @@
+package com.careeros.backend.controller;
+
+import com.careeros.backend.monitoring.FlightRecordingService;
+import com.careeros.backend.payload.response.MessageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/admin/jfr")
+@PreAuthorize("hasRole('ADMIN')")
+public class ProfilingController {
+
+    @Autowired
+    private FlightRecordingService flightRecordingService;
+
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(defaultValue = "profile") String settings,
+                                   @RequestParam(required = false) Long durationSeconds) {
+        try {
+            return ResponseEntity.ok(flightRecordingService.start(settings, durationSeconds));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Could not start recording: " + e.getMessage()));
+        }
+    }
+
+    @PostMapping("/stop")
+    public ResponseEntity<?> stop() {
+        try {
+            return ResponseEntity.ok(flightRecordingService.stop());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Could not stop recording: " + e.getMessage()));
+        }
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<?> status() {
+        return ResponseEntity.ok(flightRecordingService.status());
+    }
+
+    @GetMapping("/download")
+    public ResponseEntity<?> download() {
+        try {
+            String filename = flightRecordingService.recordingName() + ".jfr";
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                    .header(HttpHeaders.CONTENT_DISPOSITION,
+                            ContentDisposition.attachment().filename(filename).build().toString())
+                    .body(new InputStreamResource(flightRecordingService.openStream()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Could not download recording: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.careeros.backend.controller;
+
+import com.careeros.backend.payload.response.MessageResponse;
+import com.careeros.backend.service.CandidateSearchService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RestController
+@RequestMapping("/api/recruiter")
+public class RecruiterController {
+
+    @Autowired
+    private CandidateSearchService candidateSearchService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Candidates whose username, email or name matches q. Rows are written to the
+     * response as they are read; pass the returned nextCursor as after for the next page.
+     */
+    @GetMapping("/candidates")
+    @PreAuthorize("hasRole('RECRUITER') or hasRole('ADMIN')")
+    public void searchCandidates(@RequestParam String q,
+                                 @RequestParam(defaultValue = "contains") String match,
+                                 @RequestParam(defaultValue = "0") long after,
+                                 @RequestParam(defaultValue = "50") int limit,
+                                 HttpServletResponse response) throws IOException {
+        CandidateSearchService.Match mode;
+        try {
+            mode = CandidateSearchService.Match.valueOf(match.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            writeError(response, "match must be prefix or contains");
+            return;
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator json = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        try {
+            json.writeStartObject();
+            json.writeArrayFieldStart("items");
+            Long nextCursor = candidateSearchService.search(q, mode, after, limit, candidate -> {
+                try {
+                    json.writeObject(candidate);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            json.writeEndArray();
+            if (nextCursor != null) {
+                json.writeNumberField("nextCursor", nextCursor);
+            } else {
+                json.writeNullField("nextCursor");
+            }
+            json.writeEndObject();
+            json.close();
+
+        } catch (IllegalArgumentException e) {
+            if (response.isCommitted()) {
+                throw e;
+            }
+            writeError(response, e.getMessage());
+        }
+    }
+
+    private void writeError(HttpServletResponse response, String message) throws IOException {
+        response.reset();
+        response.setStatus(HttpStatus.BAD_REQUEST.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new MessageResponse("Candidate search failed: " + message));
+    }
+}
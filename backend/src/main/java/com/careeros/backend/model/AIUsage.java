@@ -0,0 +1,68 @@
+package com.careeros.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ai_usage")
+public class AIUsage {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "call_count", nullable = false)
+    private long callCount;
+
+    @Column(name = "bytes_analyzed", nullable = false)
+    private long bytesAnalyzed;
+
+    @Column(name = "upstream_time_ms", nullable = false)
+    private long upstreamTimeMs;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    public AIUsage() {}
+
+    // Getters and Setters
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public void setCallCount(long callCount) {
+        this.callCount = callCount;
+    }
+
+    public long getBytesAnalyzed() {
+        return bytesAnalyzed;
+    }
+
+    public void setBytesAnalyzed(long bytesAnalyzed) {
+        this.bytesAnalyzed = bytesAnalyzed;
+    }
+
+    public long getUpstreamTimeMs() {
+        return upstreamTimeMs;
+    }
+
+    public void setUpstreamTimeMs(long upstreamTimeMs) {
+        this.upstreamTimeMs = upstreamTimeMs;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
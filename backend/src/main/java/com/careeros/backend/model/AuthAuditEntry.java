@@ -0,0 +1,66 @@
+package com.careeros.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A row of the optional Postgres copy of the authentication audit log. Rows are
+ * inserted in batches by AuthAuditLog, not through JPA.
+ */
+@Entity
+@Table(name = "auth_audit_events", indexes = @Index(name = "idx_auth_audit_events_occurred_at", columnList = "occurred_at"))
+public class AuthAuditEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType;
+
+    @Column(length = 200)
+    private String username;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "remote_address", length = 200)
+    private String remoteAddress;
+
+    @Column(length = 200)
+    private String detail;
+
+    public AuthAuditEntry() {}
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
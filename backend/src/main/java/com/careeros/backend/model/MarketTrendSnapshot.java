@@ -0,0 +1,52 @@
+package com.careeros.backend.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "market_trends")
+public class MarketTrendSnapshot {
+    @Id
+    @Column(length = 100)
+    private String region;
+
+    @Column(name = "trends_json", nullable = false, length = 20000)
+    private String trendsJson;
+
+    @Column(name = "refreshed_at", nullable = false)
+    private LocalDateTime refreshedAt;
+
+    public MarketTrendSnapshot() {}
+
+    public MarketTrendSnapshot(String region, String trendsJson, LocalDateTime refreshedAt) {
+        this.region = region;
+        this.trendsJson = trendsJson;
+        this.refreshedAt = refreshedAt;
+    }
+
+    // Getters and Setters
+    public String getRegion() {
+        return region;
+    }
+
+    public void setRegion(String region) {
+        this.region = region;
+    }
+
+    public String getTrendsJson() {
+        return trendsJson;
+    }
+
+    public void setTrendsJson(String trendsJson) {
+        this.trendsJson = trendsJson;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
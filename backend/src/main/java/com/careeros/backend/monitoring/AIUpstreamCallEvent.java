@@ -0,0 +1,30 @@
+package com.careeros.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("careeros.AIUpstreamCall")
+@Label("AI Upstream Call")
+@Description("One attempt at a call to the AI service")
+@Category({"CareerOS", "AI"})
+@StackTrace(false)
+public class AIUpstreamCallEvent extends Event {
+    @Label("Endpoint")
+    public String endpoint;
+
+    @Label("Status")
+    @Description("HTTP status, or 0 when no response was received")
+    public int status;
+
+    @Label("Bytes Analyzed")
+    @DataAmount
+    public long bytes;
+
+    @Label("User Id")
+    public long userId;
+}
@@ -0,0 +1,144 @@
+package com.careeros.backend.monitoring;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs at most one on-demand Java Flight Recorder recording at a time, so allocation,
+ * lock and GC profiles can be captured next to our own auth and AI events during an
+ * incident without attaching an agent.
+ *
+ * Every recording is bounded: it stops itself after its duration and keeps no more than
+ * the configured size and age on disk. The last recording stays downloadable until the
+ * next one starts.
+ */
+@Service
+public class FlightRecordingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecordingService.class);
+
+    private static final Set<String> SETTINGS = Set.of("default", "profile");
+
+    @Value("${profiling.jfr.max-duration-ms:600000}")
+    private long maxDurationMs;
+
+    @Value("${profiling.jfr.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    @Value("${profiling.jfr.max-age-ms:900000}")
+    private long maxAgeMs;
+
+    private Recording recording;
+
+    /**
+     * Start a recording with the JDK's "default" or "profile" settings
+     */
+    public synchronized Map<String, Object> start(String settings, Long durationSeconds) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        if (!SETTINGS.contains(settings)) {
+            throw new IllegalArgumentException("settings must be one of " + SETTINGS);
+        }
+
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load JFR settings '" + settings + "': " + e.getMessage());
+        }
+
+        long durationMs = durationSeconds != null && durationSeconds > 0
+                ? Math.min(durationSeconds * 1000, maxDurationMs)
+                : maxDurationMs;
+
+        close();
+        Recording next = new Recording(configuration);
+        next.setName("careeros-" + Instant.now().getEpochSecond());
+        next.setToDisk(true);
+        next.setMaxSize(maxSizeBytes);
+        next.setMaxAge(Duration.ofMillis(maxAgeMs));
+        next.setDuration(Duration.ofMillis(durationMs));
+        next.enable(JwtVerificationEvent.class);
+        next.enable(UserLookupEvent.class);
+        next.enable(PasswordHashEvent.class);
+        next.enable(AIUpstreamCallEvent.class);
+        next.start();
+        recording = next;
+
+        logger.info("Started JFR recording {} with '{}' settings for {} ms", next.getName(), settings, durationMs);
+        return status();
+    }
+
+    /**
+     * Stop the running recording, keeping its data for download
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new IllegalStateException("No recording is running");
+        }
+        recording.stop();
+        logger.info("Stopped JFR recording {}", recording.getName());
+        return status();
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("durationMs", recording.getDuration() != null ? recording.getDuration().toMillis() : null);
+        status.put("sizeBytes", recording.getSize());
+        return status;
+    }
+
+    public synchronized String recordingName() {
+        if (recording == null) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        return recording.getName();
+    }
+
+    /**
+     * Recorded data so far, readable while the recording is still running
+     */
+    public synchronized InputStream openStream() throws IOException {
+        if (recording == null || recording.getState() == RecordingState.NEW
+                || recording.getState() == RecordingState.CLOSED) {
+            throw new IllegalStateException("No recording has been started");
+        }
+        InputStream stream = recording.getStream(null, null);
+        if (stream == null) {
+            throw new IllegalStateException("The recording has no data yet");
+        }
+        return stream;
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.careeros.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("careeros.JwtVerification")
+@Label("JWT Verification")
+@Description("Signature and claims check of a bearer token")
+@Category({"CareerOS", "Auth"})
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,38 @@
+package com.careeros.backend.monitoring;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets at most one log line through per interval and counts the ones held back, so a
+ * burst of identical failures (a client retrying with a bad token) costs one line
+ * instead of one per request.
+ */
+public final class LogRateLimiter {
+
+    private final long intervalNanos;
+
+    private final AtomicLong nextAllowedNanos;
+
+    private final LongAdder suppressed = new LongAdder();
+
+    public LogRateLimiter(long interval, TimeUnit unit) {
+        this.intervalNanos = unit.toNanos(interval);
+        this.nextAllowedNanos = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * @return -1 if the caller should not log, otherwise how many lines were suppressed
+     *         since the last one that was let through
+     */
+    public long tryAcquire() {
+        long now = System.nanoTime();
+        long next = nextAllowedNanos.get();
+        if (now - next < 0 || !nextAllowedNanos.compareAndSet(next, now + intervalNanos)) {
+            suppressed.increment();
+            return -1;
+        }
+        return suppressed.sumThenReset();
+    }
+}
@@ -0,0 +1,21 @@
+package com.careeros.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("careeros.PasswordHash")
+@Label("Password Hash")
+@Description("BCrypt hashing of a new password or verification of a login")
+@Category({"CareerOS", "Auth"})
+@StackTrace(false)
+public class PasswordHashEvent extends Event {
+    @Label("Operation")
+    public String operation;
+
+    @Label("Matched")
+    public boolean matched;
+}
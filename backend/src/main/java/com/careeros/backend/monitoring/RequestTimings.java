@@ -0,0 +1,122 @@
+package com.careeros.backend.monitoring;
+
+/**
+ * Phase durations and SQL statement count for the request being handled on the current
+ * thread. Components along the request path record their own phase; ServerTimingFilter
+ * reports them.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private static final int MAX_PHASES = 8;
+
+    private final long startNanos = System.nanoTime();
+    private final String[] phases = new String[MAX_PHASES];
+    private final long[] durations = new long[MAX_PHASES];
+    private int size;
+    private long serializeStartNanos = -1;
+    private int statements;
+
+    private RequestTimings() {}
+
+    static RequestTimings begin() {
+        RequestTimings timings = new RequestTimings();
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Add time spent in a phase of the current request; repeated phases accumulate
+     */
+    public static void record(String phase, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.add(phase, nanos);
+        }
+    }
+
+    /**
+     * Count one SQL statement prepared for the current request
+     */
+    public static void statementPrepared() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.statements++;
+        }
+    }
+
+    static void serializationStarted() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && timings.serializeStartNanos < 0) {
+            timings.serializeStartNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * Close the serialization phase at the first byte written, which for responses smaller
+     * than Jackson's buffer is when serialization has finished
+     */
+    void serializationFinished() {
+        if (serializeStartNanos >= 0) {
+            add("serialize", System.nanoTime() - serializeStartNanos);
+            serializeStartNanos = -1;
+        }
+    }
+
+    private void add(String phase, long nanos) {
+        for (int i = 0; i < size; i++) {
+            if (phases[i].equals(phase)) {
+                durations[i] += nanos;
+                return;
+            }
+        }
+        if (size < MAX_PHASES) {
+            phases[size] = phase;
+            durations[size++] = nanos;
+        }
+    }
+
+    int statementCount() {
+        return statements;
+    }
+
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /** e.g. jwt;dur=0.41, user;dur=1.93, upstream;dur=118.20, total;dur=121.07 */
+    String toServerTiming() {
+        StringBuilder header = new StringBuilder(32 * (size + 1));
+        for (int i = 0; i < size; i++) {
+            appendMillis(header.append(phases[i]).append(";dur="), durations[i]).append(", ");
+        }
+        return appendMillis(header.append("total;dur="), elapsedNanos()).toString();
+    }
+
+    /** e.g. jwt_ms=0.41 user_ms=1.93 upstream_ms=118.20 */
+    String toLogFields() {
+        StringBuilder fields = new StringBuilder(24 * size);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                fields.append(' ');
+            }
+            appendMillis(fields.append(phases[i]).append("_ms="), durations[i]);
+        }
+        return fields.toString();
+    }
+
+    static StringBuilder appendMillis(StringBuilder sb, long nanos) {
+        long hundredths = (nanos + 5_000) / 10_000;
+        sb.append(hundredths / 100).append('.');
+        long fraction = hundredths % 100;
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+}
@@ -0,0 +1,206 @@
+package com.careeros.backend.monitoring;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reports where each request's time went: a Server-Timing header for browser devtools
+ * and one key=value line per request at DEBUG, enabled per environment with
+ * logging.level.com.careeros.backend.monitoring.ServerTimingFilter=DEBUG.
+ *
+ * Runs ahead of the security filter chain so JWT verification and the user lookup are
+ * covered. The header is added just before the response commits, so only phases that
+ * finished by then are in it; the log line always has all of them.
+ *
+ * The number of SQL statements each request prepared goes into the log line and into a
+ * per-endpoint distribution, so a query-count regression shows up as a higher max.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    /** Registered once per method and route; unmatched paths share the UNKNOWN route */
+    private final Map<String, DistributionSummary> statementSummaries = new ConcurrentHashMap<>();
+
+    public ServerTimingFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        ServerTimingResponse wrapped = new ServerTimingResponse(response, timings);
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            wrapped.applyHeader();
+            RequestTimings.end();
+            recordStatements(request, timings.statementCount());
+            if (logger.isDebugEnabled()) {
+                StringBuilder line = new StringBuilder(160)
+                        .append("method=").append(request.getMethod())
+                        .append(" path=").append(request.getRequestURI())
+                        .append(" status=").append(response.getStatus());
+                String phases = timings.toLogFields();
+                if (!phases.isEmpty()) {
+                    line.append(' ').append(phases);
+                }
+                line.append(" sql=").append(timings.statementCount());
+                RequestTimings.appendMillis(line.append(" total_ms="), timings.elapsedNanos());
+                logger.debug(line.toString());
+            }
+        }
+    }
+
+    private void recordStatements(HttpServletRequest request, int statements) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String method = request.getMethod();
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary summary = statementSummaries.computeIfAbsent(method + ' ' + uri,
+                key -> DistributionSummary.builder("http.server.requests.sql")
+                        .description("SQL statements prepared per request")
+                        .baseUnit("statements")
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .register(meterRegistry));
+        summary.record(statements);
+    }
+
+    private static final class ServerTimingResponse extends HttpServletResponseWrapper {
+        private final RequestTimings timings;
+        private boolean applied;
+        private ServletOutputStream outputStream;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTimings timings) {
+            super(response);
+            this.timings = timings;
+        }
+
+        void applyHeader() {
+            if (applied || isCommitted()) {
+                return;
+            }
+            applied = true;
+            timings.serializationFinished();
+            setHeader("Server-Timing", timings.toServerTiming());
+            setHeader("Timing-Allow-Origin", "*");
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (outputStream == null) {
+                outputStream = new HeaderOnFirstWriteStream(super.getOutputStream(), this);
+            }
+            return outputStream;
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            applied = false;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            applyHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            applyHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            applyHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            applyHeader();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            applyHeader();
+            super.sendRedirect(location);
+        }
+    }
+
+    private static final class HeaderOnFirstWriteStream extends ServletOutputStream {
+        private final ServletOutputStream delegate;
+        private final ServerTimingResponse response;
+
+        HeaderOnFirstWriteStream(ServletOutputStream delegate, ServerTimingResponse response) {
+            this.delegate = delegate;
+            this.response = response;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            response.applyHeader();
+            delegate.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            response.applyHeader();
+            delegate.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.applyHeader();
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            response.applyHeader();
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
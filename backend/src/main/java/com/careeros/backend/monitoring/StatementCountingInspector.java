@@ -0,0 +1,16 @@
+package com.careeros.backend.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts every SQL statement Hibernate prepares against the request on the current
+ * thread. The SQL itself is passed through unchanged.
+ */
+public class StatementCountingInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTimings.statementPrepared();
+        return sql;
+    }
+}
@@ -0,0 +1,21 @@
+package com.careeros.backend.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("careeros.UserLookup")
+@Label("User Lookup")
+@Description("Loading a user by username for authentication")
+@Category({"CareerOS", "Auth"})
+@StackTrace(false)
+public class UserLookupEvent extends Event {
+    @Label("User Id")
+    public long userId;
+
+    @Label("Found")
+    public boolean found;
+}
@@ -21,6 +21,9 @@ public class CareerRecommendationRequest {
     
     private String location;
     
+    // Canonical skill ids, filled in by the backend from skills
+    private List<Integer> skillIds;
+    
     public CareerRecommendationRequest() {}
     
     public CareerRecommendationRequest(Integer userId, List<String> skills, Integer experienceYears, List<String> interests) {
@@ -70,4 +73,12 @@ public class CareerRecommendationRequest {
     public void setLocation(String location) {
         this.location = location;
     }
+    
+    public List<Integer> getSkillIds() {
+        return skillIds;
+    }
+    
+    public void setSkillIds(List<Integer> skillIds) {
+        this.skillIds = skillIds;
+    }
 } 
\ No newline at end of file
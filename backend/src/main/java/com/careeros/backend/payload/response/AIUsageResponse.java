@@ -0,0 +1,31 @@
+package com.careeros.backend.payload.response;
+
+public class AIUsageResponse {
+    private Long userId;
+    private long callCount;
+    private long bytesAnalyzed;
+    private long upstreamTimeMs;
+
+    public AIUsageResponse(Long userId, long callCount, long bytesAnalyzed, long upstreamTimeMs) {
+        this.userId = userId;
+        this.callCount = callCount;
+        this.bytesAnalyzed = bytesAnalyzed;
+        this.upstreamTimeMs = upstreamTimeMs;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getCallCount() {
+        return callCount;
+    }
+
+    public long getBytesAnalyzed() {
+        return bytesAnalyzed;
+    }
+
+    public long getUpstreamTimeMs() {
+        return upstreamTimeMs;
+    }
+}
@@ -0,0 +1,9 @@
+package com.careeros.backend.repository;
+
+import com.careeros.backend.model.AIUsage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AIUsageRepository extends JpaRepository<AIUsage, Long> {
+}
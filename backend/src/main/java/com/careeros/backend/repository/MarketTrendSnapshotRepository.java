@@ -0,0 +1,9 @@
+package com.careeros.backend.repository;
+
+import com.careeros.backend.model.MarketTrendSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MarketTrendSnapshotRepository extends JpaRepository<MarketTrendSnapshot, String> {
+}
@@ -0,0 +1,14 @@
+package com.careeros.backend.repository;
+
+import com.careeros.backend.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findByCreatedAtBeforeOrderByIdAsc(LocalDateTime cutoff, Pageable pageable);
+}
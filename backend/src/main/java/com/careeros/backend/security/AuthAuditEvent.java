@@ -0,0 +1,56 @@
+package com.careeros.backend.security;
+
+/**
+ * One authentication event. Instances are preallocated slots in AuthAuditLog's ring
+ * buffer and are overwritten in place, so they are only valid until the slot is reused.
+ */
+public final class AuthAuditEvent {
+
+    public enum Type { SIGN_IN, LOGIN_FAILED, TOKEN_REJECTED, LOGOUT }
+
+    public static final long NO_USER = -1;
+
+    long timestamp;
+    Type type;
+    String username;
+    long userId = NO_USER;
+    String remoteAddress;
+    String detail;
+
+    void set(long timestamp, Type type, String username, long userId, String remoteAddress, String detail) {
+        this.timestamp = timestamp;
+        this.type = type;
+        this.username = username;
+        this.userId = userId;
+        this.remoteAddress = remoteAddress;
+        this.detail = detail;
+    }
+
+    void copyFrom(AuthAuditEvent other) {
+        set(other.timestamp, other.type, other.username, other.userId, other.remoteAddress, other.detail);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getRemoteAddress() {
+        return remoteAddress;
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+}
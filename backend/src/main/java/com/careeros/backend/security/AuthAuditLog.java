@@ -0,0 +1,355 @@
+package com.careeros.backend.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of sign-ins, failed logins, token rejections and logouts that stays off
+ * the request path.
+ *
+ * Request threads claim a slot in a preallocated ring buffer with one CAS, fill it in
+ * and mark it published; nothing is allocated, locked or written to disk. A single
+ * writer thread copies published events out in batches and appends them as JSON lines
+ * to a size-rotated file (synced once per batch) and, if app.audit.jdbc.enabled, to
+ * the auth_audit_events table in one batched insert.
+ *
+ * When the buffer is full, app.audit.overflow decides: "drop" discards the event,
+ * "block" makes the request wait up to app.audit.max-block-ms for the writer and then
+ * drops it. Every outcome is counted in auth.audit.events.
+ */
+@Component
+public class AuthAuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthAuditLog.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO auth_audit_events (occurred_at, event_type, username, user_id, remote_address, detail) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private static final long BLOCKED_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final int MAX_FIELD_LENGTH = 200;
+
+    public enum Overflow { DROP, BLOCK }
+
+    @Value("${app.audit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.audit.buffer-size:8192}")
+    private int bufferSize;
+
+    @Value("${app.audit.batch-size:256}")
+    private int batchSize;
+
+    @Value("${app.audit.overflow:drop}")
+    private String overflow;
+
+    @Value("${app.audit.max-block-ms:50}")
+    private long maxBlockMs;
+
+    @Value("${app.audit.file.path:${java.io.tmpdir}/careeros-audit/auth-audit.log}")
+    private String filePath;
+
+    @Value("${app.audit.file.max-bytes:10485760}")
+    private long fileMaxBytes;
+
+    @Value("${app.audit.file.max-files:10}")
+    private int fileMaxFiles;
+
+    @Value("${app.audit.jdbc.enabled:false}")
+    private boolean jdbcEnabled;
+
+    private final JsonFactory jsonFactory;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter published;
+
+    private final Counter dropped;
+
+    private final Counter blocked;
+
+    /** Ring slots and, per slot, the sequence last published into it */
+    private AuthAuditEvent[] slots;
+
+    private AtomicLongArray publishedSequences;
+
+    private int mask;
+
+    private Overflow overflowMode;
+
+    /** Next sequence to claim */
+    private final AtomicLong head = new AtomicLong();
+
+    /** Next sequence the writer will read; slots below it are free */
+    private volatile long tail;
+
+    private volatile boolean stopped;
+
+    private Thread writer;
+
+    // Writer thread only
+    private AuthAuditEvent[] batch;
+
+    private final BatchBuffer lines = new BatchBuffer();
+
+    private RotatingAuditFile file;
+
+    public AuthAuditLog(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.jdbcTemplate = jdbcTemplate;
+        this.meterRegistry = meterRegistry;
+        this.published = eventCounter("published");
+        this.dropped = eventCounter("dropped");
+        this.blocked = Counter.builder("auth.audit.blocked")
+                .description("Audit events that had to wait for space in the buffer")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.backlog", this, AuthAuditLog::backlog)
+                .description("Audit events published but not yet written")
+                .register(meterRegistry);
+    }
+
+    private Counter eventCounter(String outcome) {
+        return Counter.builder("auth.audit.events")
+                .description("Audit events by whether they made it into the buffer")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        open();
+        if (enabled) {
+            startWriter();
+        }
+    }
+
+    /** Allocate the buffer and open the file, without starting the writer */
+    void open() throws IOException {
+        int capacity = Integer.highestOneBit(Math.max(2, bufferSize - 1)) << 1;
+        slots = new AuthAuditEvent[capacity];
+        batch = new AuthAuditEvent[Math.min(batchSize, capacity)];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new AuthAuditEvent();
+        }
+        for (int i = 0; i < batch.length; i++) {
+            batch[i] = new AuthAuditEvent();
+        }
+        publishedSequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            publishedSequences.set(i, -1);
+        }
+        mask = capacity - 1;
+        overflowMode = Overflow.valueOf(overflow.strip().toUpperCase(Locale.ROOT));
+        if (enabled) {
+            file = new RotatingAuditFile(Path.of(filePath), fileMaxBytes, fileMaxFiles);
+        }
+    }
+
+    void startWriter() {
+        writer = new Thread(this::drainUntilStopped, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Write what is left in the buffer and stop the writer
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        stopped = true;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    /**
+     * Record an event; never blocks unless app.audit.overflow is "block"
+     *
+     * @param userId the user's id, or null when the user is not known
+     * @return false if the event was dropped
+     */
+    public boolean publish(AuthAuditEvent.Type type, String username, Long userId, String remoteAddress,
+                           String detail) {
+        if (!enabled) {
+            return false;
+        }
+        long sequence = stopped ? -1 : claim();
+        if (sequence < 0 && !stopped && overflowMode == Overflow.BLOCK) {
+            sequence = awaitSpace();
+        }
+        if (sequence < 0) {
+            dropped.increment();
+            return false;
+        }
+        int index = (int) sequence & mask;
+        slots[index].set(System.currentTimeMillis(), type, truncate(username), userId == null
+                ? AuthAuditEvent.NO_USER : userId, truncate(remoteAddress), truncate(detail));
+        // Volatile write: the writer sees the fields once it sees the sequence
+        publishedSequences.set(index, sequence);
+        published.increment();
+        return true;
+    }
+
+    private long claim() {
+        while (true) {
+            long sequence = head.get();
+            if (sequence - tail >= slots.length) {
+                return -1;
+            }
+            if (head.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    private long awaitSpace() {
+        blocked.increment();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxBlockMs);
+        LockSupport.unpark(writer);
+        while (System.nanoTime() < deadline && !stopped) {
+            LockSupport.parkNanos(BLOCKED_PARK_NANOS);
+            long sequence = claim();
+            if (sequence >= 0) {
+                return sequence;
+            }
+        }
+        return -1;
+    }
+
+    private void drainUntilStopped() {
+        while (true) {
+            int count = drain();
+            if (count > 0) {
+                write(count);
+            } else if (stopped) {
+                return;
+            } else {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+    }
+
+    /**
+     * Copy consecutive published events into the batch and free their slots
+     */
+    private int drain() {
+        long sequence = tail;
+        int count = 0;
+        while (count < batch.length) {
+            int index = (int) sequence & mask;
+            if (publishedSequences.get(index) != sequence) {
+                break;
+            }
+            batch[count++].copyFrom(slots[index]);
+            sequence++;
+        }
+        if (count > 0) {
+            tail = sequence;
+        }
+        return count;
+    }
+
+    private void write(int count) {
+        try {
+            lines.reset();
+            try (JsonGenerator json = jsonFactory.createGenerator(lines)) {
+                json.setRootValueSeparator(null);
+                for (int i = 0; i < count; i++) {
+                    AuthAuditEvent event = batch[i];
+                    json.writeStartObject();
+                    json.writeStringField("timestamp", Instant.ofEpochMilli(event.timestamp).toString());
+                    json.writeStringField("type", event.type.name());
+                    json.writeStringField("username", event.username);
+                    if (event.userId != AuthAuditEvent.NO_USER) {
+                        json.writeNumberField("userId", event.userId);
+                    }
+                    json.writeStringField("remoteAddress", event.remoteAddress);
+                    json.writeStringField("detail", event.detail);
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                }
+            }
+            file.append(lines.bytes(), lines.size());
+            meterRegistry.counter("auth.audit.written", "sink", "file").increment(count);
+        } catch (IOException | RuntimeException e) {
+            meterRegistry.counter("auth.audit.write.failures", "sink", "file").increment();
+            logger.error("Could not write {} audit events to {}: {}", count, filePath, e.getMessage());
+        }
+
+        if (jdbcEnabled) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, Arrays.asList(batch).subList(0, count), count, (ps, event) -> {
+                    ps.setTimestamp(1, new Timestamp(event.timestamp));
+                    ps.setString(2, event.type.name());
+                    ps.setString(3, event.username);
+                    if (event.userId == AuthAuditEvent.NO_USER) {
+                        ps.setNull(4, Types.BIGINT);
+                    } else {
+                        ps.setLong(4, event.userId);
+                    }
+                    ps.setString(5, event.remoteAddress);
+                    ps.setString(6, event.detail);
+                });
+                meterRegistry.counter("auth.audit.written", "sink", "jdbc").increment(count);
+            } catch (RuntimeException e) {
+                meterRegistry.counter("auth.audit.write.failures", "sink", "jdbc").increment();
+                logger.error("Could not insert {} audit events: {}", count, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Events published but not yet taken by the writer
+     */
+    public long backlog() {
+        return Math.max(0, head.get() - tail);
+    }
+
+    private static String truncate(String value) {
+        return value == null || value.length() <= MAX_FIELD_LENGTH ? value : value.substring(0, MAX_FIELD_LENGTH);
+    }
+
+    /** Exposes the array so a batch is written without copying it */
+    private static final class BatchBuffer extends ByteArrayOutputStream {
+        BatchBuffer() {
+            super(64 * 1024);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
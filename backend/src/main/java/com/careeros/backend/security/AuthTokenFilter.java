@@ -1,5 +1,7 @@
 package com.careeros.backend.security;
 
+import com.careeros.backend.monitoring.LogRateLimiter;
+import com.careeros.backend.monitoring.RequestTimings;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,14 +9,18 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
@@ -23,23 +29,38 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    @Autowired
+    private AuthAuditLog authAuditLog;
+
     private static final Logger logger = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    private static final String REQUEST_LINE = "auth method={} path={} outcome={} user={}";
+
+    private final LogRateLimiter errorLogLimiter = new LogRateLimiter(10, TimeUnit.SECONDS);
+
+    /**
+     * Share of requests whose summary line is logged at INFO; with DEBUG enabled for
+     * this logger every request is logged
+     */
+    @Value("${app.auth.log.sample-rate:0}")
+    private double logSampleRate;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        String outcome = "anonymous";
+        String username = null;
         try {
             String jwt = parseJwt(request);
-            logger.info("🔑 JWT Token parsed: {}", jwt != null ? "Present" : "Missing");
-            
             if (jwt != null) {
-                logger.info("🔑 JWT Token validation: {}", jwtUtils.validateJwtToken(jwt) ? "Valid" : "Invalid");
-                
-                if (jwtUtils.validateJwtToken(jwt)) {
-                    String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                    logger.info("🔑 Username from JWT: {}", username);
+                long jwtStart = System.nanoTime();
+                username = jwtUtils.getUserNameFromValidJwtToken(jwt);
+                RequestTimings.record("jwt", System.nanoTime() - jwtStart);
 
+                if (username != null) {
+                    long lookupStart = System.nanoTime();
                     UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                    RequestTimings.record("user", System.nanoTime() - lookupStart);
                     UsernamePasswordAuthenticationToken authentication =
                             new UsernamePasswordAuthenticationToken(
                                     userDetails,
@@ -48,13 +69,30 @@ public class AuthTokenFilter extends OncePerRequestFilter {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
-                    logger.info("🔑 Authentication set successfully for user: {}", username);
+                    outcome = "authenticated";
+                } else {
+                    outcome = "invalid_token";
+                    authAuditLog.publish(AuthAuditEvent.Type.TOKEN_REJECTED, null, null, request.getRemoteAddr(),
+                            "invalid token");
                 }
-            } else {
-                logger.warn("⚠️ No JWT token found in request");
             }
+        } catch (UsernameNotFoundException e) {
+            outcome = "unknown_user";
+            authAuditLog.publish(AuthAuditEvent.Type.TOKEN_REJECTED, username, null, request.getRemoteAddr(),
+                    "unknown user");
         } catch (Exception e) {
-            logger.error("Cannot set user authentication: {}", e);
+            outcome = "error";
+            long suppressed = errorLogLimiter.tryAcquire();
+            if (suppressed >= 0) {
+                logger.error("Cannot set user authentication ({} similar errors suppressed)", suppressed, e);
+            }
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug(REQUEST_LINE, request.getMethod(), request.getRequestURI(), outcome, username);
+        } else if (logSampleRate > 0 && logger.isInfoEnabled()
+                && ThreadLocalRandom.current().nextDouble() < logSampleRate) {
+            logger.info(REQUEST_LINE, request.getMethod(), request.getRequestURI(), outcome, username);
         }
 
         filterChain.doFilter(request, response);
@@ -62,14 +100,9 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
-        logger.info("🔑 Authorization header: {}", headerAuth != null ? "Present" : "Missing");
-
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
-            String token = headerAuth.substring(7);
-            logger.info("🔑 Extracted JWT token: {}", token.substring(0, Math.min(20, token.length())) + "...");
-            return token;
+            return headerAuth.substring(7);
         }
-
         return null;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.careeros.backend.security;
+
+import com.careeros.backend.config.ConcurrencyLimitProperties;
+import com.careeros.backend.payload.response.MessageResponse;
+import com.careeros.backend.service.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sheds load with a fast 503 once a group of endpoints has as many requests in flight
+ * as its adaptive limit allows, so overload turns into quick rejections instead of
+ * growing queues. Auth, AI and health endpoints have separate limits: a slow AI
+ * service cannot use up the capacity that sign-ins and readiness probes need.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    @Autowired
+    private ConcurrencyLimitProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimitFilter.class);
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters = new HashMap<>();
+
+    @PostConstruct
+    void createLimiters() {
+        for (String group : new String[] {"auth", "ai", "health"}) {
+            ConcurrencyLimitProperties.Group config =
+                    properties.getGroups().getOrDefault(group, new ConcurrencyLimitProperties.Group());
+            AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(group,
+                    config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                    config.getTolerance(), config.getSmoothing(),
+                    properties.getWindowMs(), properties.getMinWindowSamples(), properties.getLongWindow());
+            limiters.put(group, limiter);
+
+            Gauge.builder("http.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .description("Current adaptive concurrency limit")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            Gauge.builder("http.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .description("Requests currently admitted")
+                    .tag("group", group)
+                    .register(meterRegistry);
+            FunctionCounter.builder("http.concurrency.rejected", limiter, AdaptiveConcurrencyLimiter::getRejected)
+                    .description("Requests rejected with 503 because the group was at its limit")
+                    .tag("group", group)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || groupOf(request.getRequestURI()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String group = groupOf(request.getRequestURI());
+        AdaptiveConcurrencyLimiter limiter = limiters.get(group);
+        if (!limiter.tryAcquire()) {
+            logger.debug("Rejecting {} {}: {} group at its limit of {}",
+                    request.getMethod(), request.getRequestURI(), limiter.getName(), limiter.getLimit());
+            response.setHeader("Retry-After", "1");
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(),
+                    new MessageResponse("Server is busy, please retry shortly"));
+            return;
+        }
+
+        long start = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = isOverload(group, response.getStatus());
+        } finally {
+            limiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+
+    /**
+     * A 503 or 504 from the application points at overload. Health endpoints answer 503
+     * by design while the app is DOWN or warming up, which is when orchestrators poll
+     * them most and says nothing about load, so only a 504 counts there.
+     */
+    private static boolean isOverload(String group, int status) {
+        if (status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return true;
+        }
+        return status == HttpStatus.SERVICE_UNAVAILABLE.value() && !"health".equals(group);
+    }
+
+    private static String groupOf(String uri) {
+        if (uri.startsWith("/actuator/health") || uri.equals("/api/ai/health") || uri.equals("/api/ai/status")) {
+            return "health";
+        }
+        if (uri.startsWith("/api/auth/")) {
+            return "auth";
+        }
+        if (uri.startsWith("/api/ai/")) {
+            return "ai";
+        }
+        return null;
+    }
+}
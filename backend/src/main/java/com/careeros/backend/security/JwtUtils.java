@@ -1,9 +1,15 @@
 package com.careeros.backend.security;
 
+import com.careeros.backend.monitoring.JwtVerificationEvent;
+import com.careeros.backend.monitoring.LogRateLimiter;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
@@ -11,17 +17,31 @@ import org.springframework.stereotype.Component;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtils {
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
 
+    private static final long REJECTION_LOG_INTERVAL_SECONDS = 10;
+
     @Value("${app.jwt.secret}")
     private String jwtSecret;
 
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
+    private final Map<String, Timer> verifyTimers = new HashMap<>();
+
+    private final Map<String, LogRateLimiter> rejectionLogLimiters = Map.of(
+            "invalid", new LogRateLimiter(REJECTION_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS),
+            "malformed", new LogRateLimiter(REJECTION_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS),
+            "unsupported", new LogRateLimiter(REJECTION_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS),
+            "empty", new LogRateLimiter(REJECTION_LOG_INTERVAL_SECONDS, TimeUnit.SECONDS));
+
     public String generateJwtToken(Authentication authentication) {
         UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
         Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
@@ -34,34 +54,73 @@ public class JwtUtils {
                 .compact();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .setSigningKey(key)
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+    /**
+     * Verify the token and return its subject in one pass, or null if it is not valid
+     */
+    public String getUserNameFromValidJwtToken(String authToken) {
+        Claims claims = verify(authToken);
+        return claims == null ? null : claims.getSubject();
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Expired tokens are routine (a client refreshing late) and logged at DEBUG; other
+     * rejections are logged at ERROR, at most once per interval per kind of failure.
+     */
+    private Claims verify(String authToken) {
+        JwtVerificationEvent event = new JwtVerificationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "invalid";
         try {
             Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
+            Claims claims = Jwts.parserBuilder()
                 .setSigningKey(key)
-                .parseClaimsJws(authToken);
-            return true;
+                .build()
+                .parseClaimsJws(authToken)
+                .getBody();
+            outcome = "valid";
+            return claims;
         } catch (SecurityException e) {
-            logger.error("Invalid JWT signature: {}", e.getMessage());
+            // jjwt's, not java.lang's: a forged or wrong-key signature (SignatureException)
+            logRejection(outcome, "Invalid JWT signature", e);
         } catch (MalformedJwtException e) {
-            logger.error("Invalid JWT token: {}", e.getMessage());
+            outcome = "malformed";
+            logRejection(outcome, "Invalid JWT token", e);
         } catch (ExpiredJwtException e) {
-            logger.error("JWT token is expired: {}", e.getMessage());
+            outcome = "expired";
+            logger.debug("JWT token is expired: {}", e.getMessage());
         } catch (UnsupportedJwtException e) {
-            logger.error("JWT token is unsupported: {}", e.getMessage());
+            outcome = "unsupported";
+            logRejection(outcome, "JWT token is unsupported", e);
         } catch (IllegalArgumentException e) {
-            logger.error("JWT claims string is empty: {}", e.getMessage());
+            outcome = "empty";
+            logRejection(outcome, "JWT claims string is empty", e);
+        } catch (JwtException e) {
+            logRejection(outcome, "Invalid JWT token", e);
+        } finally {
+            verifyTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.outcome = outcome;
+            event.commit();
         }
 
-        return false;
+        return null;
+    }
+
+    private void logRejection(String outcome, String message, Exception e) {
+        long suppressed = rejectionLogLimiters.get(outcome).tryAcquire();
+        if (suppressed >= 0) {
+            logger.error("{}: {} ({} similar errors suppressed)", message, e.getMessage(), suppressed);
+        }
+    }
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        for (String outcome : List.of("valid", "invalid", "malformed", "expired", "unsupported", "empty")) {
+            verifyTimers.put(outcome, Timer.builder("auth.jwt.verify")
+                    .description("JWT signature and claims verification")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
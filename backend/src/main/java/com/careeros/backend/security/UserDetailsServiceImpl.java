@@ -1,25 +1,83 @@
 package com.careeros.backend.security;
 
 import com.careeros.backend.model.User;
+import com.careeros.backend.monitoring.UserLookupEvent;
 import com.careeros.backend.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Value("${app.datasource.replica.url:}")
+    private String replicaUrl;
+
+    private TransactionTemplate primaryLookup;
+
+    private final Map<String, Timer> lookupTimers = new HashMap<>();
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        primaryLookup = new TransactionTemplate(transactionManager);
+        primaryLookup.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Read-only, so with a replica configured the lookup runs there. Any miss is retried on
+     * the primary: a user who signed up moments ago, through whichever instance, may not
+     * have reached the replica yet.
+     */
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        UserLookupEvent event = new UserLookupEvent();
+        event.begin();
+        long start = System.nanoTime();
+        String outcome = "not_found";
+        try {
+            User user = userRepository.findByUsername(username)
+                    .or(() -> StringUtils.hasText(replicaUrl)
+                            ? primaryLookup.execute(status -> userRepository.findByUsername(username))
+                            : Optional.empty())
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+            outcome = "found";
+            event.found = true;
+            event.userId = user.getId();
 
-        return UserDetailsImpl.build(user);
+            return UserDetailsImpl.build(user);
+        } finally {
+            lookupTimers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            event.commit();
+        }
+    }
+
+    @Autowired
+    void registerMetrics(MeterRegistry meterRegistry) {
+        for (String outcome : List.of("found", "not_found")) {
+            lookupTimers.put(outcome, Timer.builder("auth.user.lookup")
+                    .description("User lookup by username")
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
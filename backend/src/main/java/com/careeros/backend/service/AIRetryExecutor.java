@@ -0,0 +1,139 @@
+package com.careeros.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retries for AI service calls with exponential backoff and full jitter.
+ *
+ * Retries draw from a global budget that every first attempt refills by a fraction
+ * of a token, so when the upstream is struggling retries stay a small share of
+ * total traffic instead of multiplying it.
+ */
+@Component
+public class AIRetryExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIRetryExecutor.class);
+
+    private static final long MILLI_TOKENS = 1000;
+
+    @Value("${ai.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${ai.retry.base-delay-ms:100}")
+    private long baseDelayMs;
+
+    @Value("${ai.retry.max-delay-ms:2000}")
+    private long maxDelayMs;
+
+    @Value("${ai.retry.budget-ratio:0.1}")
+    private double budgetRatio;
+
+    @Value("${ai.retry.budget-max-tokens:20}")
+    private long budgetMaxTokens;
+
+    private final AtomicLong budgetMilliTokens = new AtomicLong();
+
+    private final AIScheduler scheduler;
+
+    public AIRetryExecutor(AIScheduler scheduler) {
+        this.scheduler = scheduler;
+    }
+
+    @PostConstruct
+    void fillBudget() {
+        budgetMilliTokens.set(budgetMaxTokens * MILLI_TOKENS);
+    }
+
+    /**
+     * Run the call, retrying failures that are safe to repeat for this kind of request
+     */
+    public <T> T execute(String operation, boolean idempotent, Supplier<T> call) {
+        deposit((long) (budgetRatio * MILLI_TOKENS));
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.get();
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || !isRetryable(e, idempotent)) {
+                    throw e;
+                }
+                if (!withdraw()) {
+                    logger.warn("Retry budget exhausted, not retrying {}: {}", operation, e.getMessage());
+                    throw e;
+                }
+                long delay = backoff(attempt);
+                logger.warn("AI call {} failed (attempt {}/{}), retrying in {} ms: {}",
+                        operation, attempt, maxAttempts, delay, e.getMessage());
+                sleep(delay, e);
+            }
+        }
+    }
+
+    /**
+     * A POST is only retried when the request never reached the AI service (the
+     * connection failed) or the upstream refused it with 503; a 502, 504 or timeout
+     * may come after the upstream already processed it. Idempotent calls also retry
+     * those and any other 5xx or I/O error.
+     */
+    static boolean isRetryable(RuntimeException e, boolean idempotent) {
+        if (e instanceof HttpServerErrorException serverError) {
+            int status = serverError.getStatusCode().value();
+            return status == 503 || idempotent;
+        }
+        if (e instanceof ResourceAccessException) {
+            Throwable cause = e.getCause();
+            return idempotent
+                    || cause instanceof ConnectException
+                    || cause instanceof NoRouteToHostException
+                    || cause instanceof UnknownHostException;
+        }
+        return false;
+    }
+
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxDelayMs, baseDelayMs << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private void deposit(long milliTokens) {
+        long max = budgetMaxTokens * MILLI_TOKENS;
+        budgetMilliTokens.getAndUpdate(current -> Math.min(max, current + milliTokens));
+    }
+
+    private boolean withdraw() {
+        while (true) {
+            long current = budgetMilliTokens.get();
+            if (current < MILLI_TOKENS) {
+                return false;
+            }
+            if (budgetMilliTokens.compareAndSet(current, current - MILLI_TOKENS)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Back off without holding an AIScheduler slot
+     */
+    private void sleep(long delayMs, RuntimeException failure) {
+        try {
+            scheduler.sleepOutsideSlot(delayMs);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.AISchedulerProperties;
+import com.careeros.backend.model.Role;
+import com.careeros.backend.monitoring.RequestTimings;
+import com.careeros.backend.security.UserDetailsImpl;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admission gate in front of AIService that shares upstream concurrency fairly.
+ *
+ * Waiting calls are ordered by start-time fair queueing: each call gets a virtual
+ * finish tag of max(virtual time, the user's previous tag) + 1 / weight, and a freed
+ * slot goes to the smallest tag. A user submitting a burst therefore only competes
+ * with their own backlog, and roles with a higher weight get proportionally more of
+ * the upstream. When the queue is full the call with the largest tag is shed.
+ *
+ * Waiting parks the request thread, so running calls plus waiters are capped at half
+ * of Tomcat's worker threads (ai.scheduler.max-queue is lowered at startup if needed);
+ * the other half stays free for sign-in, health checks and everything else.
+ */
+@Service
+public class AIScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AIScheduler.class);
+
+    private final AISchedulerProperties properties;
+
+    @Value("${server.tomcat.threads.max:200}")
+    private int serverThreads = 200;
+
+    /** ai.scheduler.max-queue, lowered if needed to leave server threads free */
+    private int maxQueue;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final PriorityQueue<Waiter> queue = new PriorityQueue<>(
+            Comparator.comparingDouble((Waiter w) -> w.finishTag).thenComparingLong(w -> w.sequence));
+    private final Map<Long, Double> lastFinishTags = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+    private int inFlight;
+
+    private final Map<String, ClassStats> stats = new ConcurrentHashMap<>();
+
+    /** The slot held by the current thread's call, if any */
+    private final ThreadLocal<Permit> currentPermit = new ThreadLocal<>();
+
+    private final MeterRegistry meterRegistry;
+
+    public AIScheduler(AISchedulerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.maxQueue = properties.getMaxQueue();
+    }
+
+    @PostConstruct
+    void limitQueueToServerThreads() {
+        int allowed = Math.max(0, serverThreads / 2 - properties.getMaxConcurrency());
+        if (maxQueue > allowed) {
+            logger.warn("ai.scheduler.max-queue={} plus max-concurrency={} would tie up more than half of the {} "
+                    + "server threads, using max-queue={}", maxQueue, properties.getMaxConcurrency(),
+                    serverThreads, allowed);
+            maxQueue = allowed;
+        }
+    }
+
+    private static final class Waiter {
+        final Long userId;
+        final String schedulingClass;
+        final double cost;
+        final double finishTag;
+        final long sequence;
+        final long enqueuedAt = System.nanoTime();
+        final CompletableFuture<Boolean> granted = new CompletableFuture<>();
+
+        Waiter(Long userId, String schedulingClass, double cost, double finishTag, long sequence) {
+            this.userId = userId;
+            this.schedulingClass = schedulingClass;
+            this.cost = cost;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+        }
+    }
+
+    private static final class Permit {
+        final Long userId;
+        final String schedulingClass;
+        final int weight;
+        final ClassStats stats;
+        boolean held;
+
+        Permit(Long userId, String schedulingClass, int weight, ClassStats stats) {
+            this.userId = userId;
+            this.schedulingClass = schedulingClass;
+            this.weight = weight;
+            this.stats = stats;
+        }
+    }
+
+    private static final class ClassStats {
+        final LongAdder admitted = new LongAdder();
+        final LongAdder shed = new LongAdder();
+        final LongAdder waitNanos = new LongAdder();
+        volatile long maxWaitNanos;
+        volatile int queued;
+        Timer waitTimer;
+    }
+
+    /**
+     * Run an AI call once the scheduler grants it an upstream slot
+     */
+    public <T> T run(UserDetailsImpl user, Supplier<T> call) {
+        String schedulingClass = schedulingClass(user);
+        Permit permit = new Permit(user.getId(), schedulingClass, weightOf(schedulingClass),
+                stats.computeIfAbsent(schedulingClass, this::newClassStats));
+        acquire(permit);
+
+        Permit outer = currentPermit.get();
+        currentPermit.set(permit);
+        try {
+            return call.get();
+        } finally {
+            currentPermit.set(outer);
+            if (permit.held) {
+                release();
+            }
+        }
+    }
+
+    /**
+     * Sleep without holding the calling thread's upstream slot, then queue for a slot
+     * again. Used for retry backoff, so a call waiting to retry doesn't keep others out.
+     *
+     * @throws AIServiceUnavailableException if no slot is granted again
+     */
+    public void sleepOutsideSlot(long delayMs) throws InterruptedException {
+        Permit permit = currentPermit.get();
+        if (permit == null || !permit.held) {
+            Thread.sleep(delayMs);
+            return;
+        }
+        permit.held = false;
+        release();
+        Thread.sleep(delayMs);
+        acquire(permit);
+    }
+
+    private void acquire(Permit permit) {
+        Waiter waiter = null;
+        lock.lock();
+        try {
+            if (inFlight < properties.getMaxConcurrency() && queue.isEmpty()) {
+                inFlight++;
+                advance(permit.userId, permit.weight);
+            } else {
+                waiter = enqueue(permit.userId, permit.schedulingClass, permit.weight, permit.stats);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (waiter == null) {
+            permit.stats.admitted.increment();
+            permit.stats.waitTimer.record(0, TimeUnit.NANOSECONDS);
+            RequestTimings.record("queue", 0);
+        } else {
+            awaitSlot(waiter, permit.stats);
+        }
+        permit.held = true;
+    }
+
+    /**
+     * Per-class queue depth, admissions, shed calls and wait times
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            snapshot.put("inFlight", inFlight);
+            snapshot.put("queued", queue.size());
+            for (Map.Entry<String, ClassStats> entry : stats.entrySet()) {
+                ClassStats s = entry.getValue();
+                long admitted = s.admitted.sum();
+                snapshot.put(entry.getKey(), Map.of(
+                        "queued", s.queued,
+                        "admitted", admitted,
+                        "shed", s.shed.sum(),
+                        "avgWaitMs", admitted == 0 ? 0.0 : s.waitNanos.sum() / 1e6 / admitted,
+                        "maxWaitMs", s.maxWaitNanos / 1e6));
+            }
+        } finally {
+            lock.unlock();
+        }
+        return snapshot;
+    }
+
+    private ClassStats newClassStats(String schedulingClass) {
+        ClassStats classStats = new ClassStats();
+        classStats.waitTimer = Timer.builder("ai.scheduler.wait")
+                .description("Time AI calls spend queued for an upstream slot")
+                .tag("class", schedulingClass)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("ai.scheduler.queued", classStats, s -> s.queued)
+                .description("AI calls waiting for an upstream slot")
+                .tag("class", schedulingClass)
+                .register(meterRegistry);
+        FunctionCounter.builder("ai.scheduler.shed", classStats.shed, LongAdder::sum)
+                .description("AI calls shed because the queue was full or the wait too long")
+                .tag("class", schedulingClass)
+                .register(meterRegistry);
+        return classStats;
+    }
+
+    private Waiter enqueue(Long userId, String schedulingClass, int weight, ClassStats classStats) {
+        double start = Math.max(virtualTime, lastFinishTags.getOrDefault(userId, 0.0));
+        Waiter waiter = new Waiter(userId, schedulingClass, 1.0 / weight, start + 1.0 / weight, sequence++);
+
+        if (queue.size() >= maxQueue) {
+            Waiter worst = largestTag();
+            if (worst == null || worst.finishTag <= waiter.finishTag) {
+                classStats.shed.increment();
+                throw new AIServiceUnavailableException("AI service is busy, please retry shortly");
+            }
+            queue.remove(worst);
+            stats.get(worst.schedulingClass).queued--;
+            stats.get(worst.schedulingClass).shed.increment();
+            refund(worst);
+            worst.granted.complete(false);
+        }
+
+        queue.add(waiter);
+        classStats.queued++;
+        lastFinishTags.put(userId, waiter.finishTag);
+        return waiter;
+    }
+
+    private void awaitSlot(Waiter waiter, ClassStats classStats) {
+        boolean granted;
+        try {
+            granted = waiter.granted.get(properties.getMaxWaitMs(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            granted = abandon(waiter, classStats);
+        }
+
+        if (!granted) {
+            logger.warn("Shedding AI call for class {} after {} ms in queue", waiter.schedulingClass,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - waiter.enqueuedAt));
+            throw new AIServiceUnavailableException("AI service is busy, please retry shortly");
+        }
+
+        long waited = System.nanoTime() - waiter.enqueuedAt;
+        classStats.admitted.increment();
+        classStats.waitNanos.add(waited);
+        classStats.waitTimer.record(waited, TimeUnit.NANOSECONDS);
+        RequestTimings.record("queue", waited);
+        if (waited > classStats.maxWaitNanos) {
+            classStats.maxWaitNanos = waited;
+        }
+    }
+
+    /**
+     * Give up on a timed out waiter, unless a slot was handed to it in the meantime
+     */
+    private boolean abandon(Waiter waiter, ClassStats classStats) {
+        lock.lock();
+        try {
+            if (queue.remove(waiter)) {
+                classStats.queued--;
+                classStats.shed.increment();
+                refund(waiter);
+                return false;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return waiter.granted.join();
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            Waiter next = queue.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+            stats.get(next.schedulingClass).queued--;
+            virtualTime = Math.max(virtualTime, next.finishTag - 1.0 / weightOf(next.schedulingClass));
+            next.granted.complete(true);
+            pruneFinishTags();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take back the virtual time a waiter that leaves without running added to its
+     * user's tag, so the user is not pushed back for work that never ran
+     */
+    private void refund(Waiter waiter) {
+        lastFinishTags.computeIfPresent(waiter.userId, (id, tag) -> tag - waiter.cost);
+    }
+
+    private void advance(Long userId, int weight) {
+        double start = Math.max(virtualTime, lastFinishTags.getOrDefault(userId, 0.0));
+        virtualTime = start;
+        lastFinishTags.put(userId, start + 1.0 / weight);
+    }
+
+    private Waiter largestTag() {
+        Waiter worst = null;
+        for (Waiter w : queue) {
+            if (worst == null || w.finishTag > worst.finishTag) {
+                worst = w;
+            }
+        }
+        return worst;
+    }
+
+    private void pruneFinishTags() {
+        if (lastFinishTags.size() <= Math.max(maxQueue, properties.getMaxConcurrency()) * 4) {
+            return;
+        }
+        Iterator<Double> tags = lastFinishTags.values().iterator();
+        while (tags.hasNext()) {
+            if (tags.next() <= virtualTime) {
+                tags.remove();
+            }
+        }
+    }
+
+    private String schedulingClass(UserDetailsImpl user) {
+        String best = null;
+        int bestWeight = 0;
+        for (GrantedAuthority authority : user.getAuthorities()) {
+            int weight = weightOf(authority.getAuthority());
+            if (best == null || weight > bestWeight) {
+                best = authority.getAuthority();
+                bestWeight = weight;
+            }
+        }
+        return best != null ? best : Role.ROLE_USER.name();
+    }
+
+    private int weightOf(String schedulingClass) {
+        try {
+            Integer weight = properties.getWeights().get(Role.valueOf(schedulingClass));
+            return Math.max(1, weight != null ? weight : properties.getDefaultWeight());
+        } catch (IllegalArgumentException e) {
+            return Math.max(1, properties.getDefaultWeight());
+        }
+    }
+}
@@ -1,35 +1,93 @@
 package com.careeros.backend.service;
 
+import com.careeros.backend.monitoring.AIUpstreamCallEvent;
+import com.careeros.backend.monitoring.RequestTimings;
 import com.careeros.backend.payload.request.AIAnalysisRequest;
 import com.careeros.backend.payload.request.CareerRecommendationRequest;
 import com.careeros.backend.payload.response.AIAnalysisResponse;
 import com.careeros.backend.payload.response.CareerRecommendationResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
 @Service
 public class AIService {
     
     private static final Logger logger = LoggerFactory.getLogger(AIService.class);
     
+    private static final String ANALYZE_PATH = "/api/v1/ai/analyze";
+    
+    private static final String RECOMMENDATIONS_PATH = "/api/v1/ai/career-recommendations";
+    
+    private static final String MARKET_TRENDS_PATH = "/api/v1/ai/market-trends";
+    
+    private static final List<String> OPERATIONS =
+            List.of("analyze", "analyze-stream", "career-recommendations", "market-trends", "health");
+    
+    private static final List<String> OUTCOMES = List.of("success", "rejected", "client_error", "unavailable");
+    
+    private static final ParameterizedTypeReference<Map<String, Object>> JSON_OBJECT =
+            new ParameterizedTypeReference<>() {};
+    
     @Value("${ai.service.url:http://localhost:8000}")
     private String aiServiceUrl;
     
+    @Value("${ai.analyze.max-content-chars:2000000}")
+    private long maxContentChars;
+    
+    @Value("${ai.analyze.max-request-bytes:10485760}")
+    private long maxRequestBytes;
+    
     private final RestTemplate restTemplate;
     
-    public AIService(RestTemplate restTemplate) {
+    private final UsageMeteringService usageMeteringService;
+    
+    private final AIRetryExecutor retryExecutor;
+    
+    /** Upstream timers by operation, then outcome */
+    private final Map<String, Map<String, Timer>> upstreamTimers = new HashMap<>();
+    
+    public AIService(RestTemplate restTemplate, UsageMeteringService usageMeteringService,
+                     AIRetryExecutor retryExecutor, MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.usageMeteringService = usageMeteringService;
+        this.retryExecutor = retryExecutor;
+        for (String operation : OPERATIONS) {
+            Map<String, Timer> byOutcome = new HashMap<>();
+            for (String outcome : OUTCOMES) {
+                byOutcome.put(outcome, Timer.builder("ai.upstream.requests")
+                        .description("Calls to the AI service")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(meterRegistry));
+            }
+            upstreamTimers.put(operation, byOutcome);
+        }
     }
     
     /**
@@ -37,7 +95,7 @@ public class AIService {
      */
     public AIAnalysisResponse analyzeContent(AIAnalysisRequest request) {
         try {
-            String url = aiServiceUrl + "/api/v1/ai/analyze";
+            String url = aiServiceUrl + ANALYZE_PATH;
             logger.info("Calling AI service for content analysis: {}", url);
             
             HttpHeaders headers = new HttpHeaders();
@@ -45,12 +103,14 @@ public class AIService {
             
             HttpEntity<AIAnalysisRequest> entity = new HttpEntity<>(request, headers);
             
-            ResponseEntity<AIAnalysisResponse> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                entity,
-                AIAnalysisResponse.class
-            );
+            ResponseEntity<AIAnalysisResponse> response = timed("analyze", () -> retryExecutor.execute("analyze", false,
+                    () -> attempt(ANALYZE_PATH, request.getUserId(), () -> utf8Length(request.getContent()),
+                            () -> restTemplate.exchange(
+                                url,
+                                HttpMethod.POST,
+                                entity,
+                                AIAnalysisResponse.class
+                            ))));
             
             logger.info("AI analysis completed successfully for user: {}", request.getUserId());
             return response.getBody();
@@ -60,7 +120,54 @@ public class AIService {
             throw new RuntimeException("AI analysis failed: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Unexpected error calling AI service: {}", e.getMessage());
-            throw new RuntimeException("AI service unavailable");
+            throw new AIServiceUnavailableException("AI service unavailable");
+        }
+    }
+    
+    /**
+     * Analyze content by streaming the raw request body to the AI service, without
+     * buffering the document, and write the AI service's response back. The body can
+     * only be read once, so this path is never retried.
+     *
+     * @return the response as written, an analysis result that is small next to the
+     *         document
+     */
+    public byte[] analyzeContentStreaming(InputStream requestBody, Integer userId, OutputStream responseBody) {
+        try {
+            String url = aiServiceUrl + ANALYZE_PATH;
+            logger.info("Streaming content analysis to AI service: {}", url);
+            
+            long[] bytesAnalyzed = new long[1];
+            byte[][] analysis = new byte[1][];
+            timed("analyze-stream", () -> attempt(ANALYZE_PATH, userId, () -> bytesAnalyzed[0],
+                    () -> restTemplate.execute(url, HttpMethod.POST, request -> {
+                        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                        if (request instanceof StreamingHttpOutputMessage streaming) {
+                            streaming.setBody(out -> bytesAnalyzed[0] = new AnalyzeRequestStreamer(
+                                    requestBody, out, userId, maxContentChars, maxRequestBytes).transfer());
+                        } else {
+                            bytesAnalyzed[0] = new AnalyzeRequestStreamer(
+                                    requestBody, request.getBody(), userId, maxContentChars, maxRequestBytes).transfer();
+                        }
+                    }, response -> {
+                        analysis[0] = StreamUtils.copyToByteArray(response.getBody());
+                        responseBody.write(analysis[0]);
+                        return ResponseEntity.status(response.getStatusCode()).build();
+                    })));
+            
+            logger.info("Streamed AI analysis completed successfully for user: {}", userId);
+            return analysis[0];
+            
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected streamed analysis request for user {}: {}", userId, e.getMessage());
+            throw e;
+        } catch (HttpClientErrorException e) {
+            logger.error("AI service error: {}", e.getMessage());
+            throw new RuntimeException("AI analysis failed: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error calling AI service: {}", e.getMessage());
+            throw new AIServiceUnavailableException("AI service unavailable");
         }
     }
     
@@ -69,7 +176,7 @@ public class AIService {
      */
     public CareerRecommendationResponse getCareerRecommendations(CareerRecommendationRequest request) {
         try {
-            String url = aiServiceUrl + "/api/v1/ai/career-recommendations";
+            String url = aiServiceUrl + RECOMMENDATIONS_PATH;
             logger.info("Calling AI service for career recommendations: {}", url);
             
             HttpHeaders headers = new HttpHeaders();
@@ -77,12 +184,15 @@ public class AIService {
             
             HttpEntity<CareerRecommendationRequest> entity = new HttpEntity<>(request, headers);
             
-            ResponseEntity<CareerRecommendationResponse> response = restTemplate.exchange(
-                url,
-                HttpMethod.POST,
-                entity,
-                CareerRecommendationResponse.class
-            );
+            ResponseEntity<CareerRecommendationResponse> response =
+                    timed("career-recommendations", () -> retryExecutor.execute("career-recommendations", false,
+                            () -> attempt(RECOMMENDATIONS_PATH, request.getUserId(), () -> 0,
+                                    () -> restTemplate.exchange(
+                                        url,
+                                        HttpMethod.POST,
+                                        entity,
+                                        CareerRecommendationResponse.class
+                                    ))));
             
             logger.info("Career recommendations generated successfully for user: {}", request.getUserId());
             return response.getBody();
@@ -92,7 +202,34 @@ public class AIService {
             throw new RuntimeException("Career recommendations failed: " + e.getMessage());
         } catch (Exception e) {
             logger.error("Unexpected error calling AI service: {}", e.getMessage());
-            throw new RuntimeException("AI service unavailable");
+            throw new AIServiceUnavailableException("AI service unavailable");
+        }
+    }
+    
+    /**
+     * Get the market trends for one region. Only the scheduled snapshot refresh calls
+     * this, never a user request, so no user is metered for it.
+     */
+    public Map<String, Object> getMarketTrends(String region) {
+        try {
+            String url = UriComponentsBuilder.fromUriString(aiServiceUrl + MARKET_TRENDS_PATH)
+                    .queryParam("region", region)
+                    .toUriString();
+            logger.info("Calling AI service for market trends: {}", url);
+            
+            ResponseEntity<Map<String, Object>> response = timed("market-trends",
+                    () -> retryExecutor.execute("market-trends", true,
+                            () -> attempt(MARKET_TRENDS_PATH, null, () -> 0,
+                                    () -> restTemplate.exchange(url, HttpMethod.GET, null, JSON_OBJECT))));
+            
+            return response.getBody();
+            
+        } catch (HttpClientErrorException e) {
+            logger.error("AI service error: {}", e.getMessage());
+            throw new RuntimeException("Market trends failed: " + e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error calling AI service: {}", e.getMessage());
+            throw new AIServiceUnavailableException("AI service unavailable");
         }
     }
     
@@ -104,7 +241,8 @@ public class AIService {
             String url = aiServiceUrl + "/api/v1/ai/health";
             logger.info("Checking AI service health: {}", url);
             
-            ResponseEntity<Map> response = restTemplate.getForEntity(url, Map.class);
+            ResponseEntity<Map<String, Object>> response = timed("health",
+                    () -> restTemplate.exchange(url, HttpMethod.GET, null, JSON_OBJECT));
             
             logger.info("AI service health check successful");
             return response.getBody();
@@ -118,4 +256,81 @@ public class AIService {
             );
         }
     }
-} 
\ No newline at end of file
+    
+    /**
+     * Time one logical AI operation, including retries, tagged by how it ended
+     */
+    private <T> T timed(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        String outcome = "success";
+        try {
+            return call.get();
+        } catch (IllegalArgumentException e) {
+            outcome = "rejected";
+            throw e;
+        } catch (HttpClientErrorException e) {
+            outcome = "client_error";
+            throw e;
+        } catch (RuntimeException e) {
+            outcome = "unavailable";
+            throw e;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            RequestTimings.record("upstream", elapsed);
+            upstreamTimers.get(operation).get(outcome).record(elapsed, TimeUnit.NANOSECONDS);
+        }
+    }
+    
+    /**
+     * One attempt at an upstream call: emits a JFR event with the endpoint, the HTTP
+     * status (0 when no response arrived) and the bytes sent. Only a successful attempt
+     * is metered, so a logical call is billed once however many attempts it took.
+     */
+    private <T> ResponseEntity<T> attempt(String endpoint, Integer userId, LongSupplier bytesAnalyzed,
+                                          Supplier<ResponseEntity<T>> call) {
+        AIUpstreamCallEvent event = new AIUpstreamCallEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            ResponseEntity<T> response = call.get();
+            status = response.getStatusCode().value();
+            usageMeteringService.record(userId, bytesAnalyzed.getAsLong(), System.nanoTime() - start);
+            return response;
+        } catch (RestClientResponseException e) {
+            status = e.getStatusCode().value();
+            throw e;
+        } finally {
+            long bytes = bytesAnalyzed.getAsLong();
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = endpoint;
+                event.status = status;
+                event.bytes = bytes;
+                event.userId = userId != null ? userId : 0;
+                event.commit();
+            }
+        }
+    }
+    
+    private static long utf8Length(String s) {
+        if (s == null) {
+            return 0;
+        }
+        long length = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,10 @@
+package com.careeros.backend.service;
+
+/**
+ * The AI service could not be reached or kept failing after retries.
+ */
+public class AIServiceUnavailableException extends RuntimeException {
+    public AIServiceUnavailableException(String message) {
+        super(message);
+    }
+}
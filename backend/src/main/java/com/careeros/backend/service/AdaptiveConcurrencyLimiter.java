@@ -0,0 +1,142 @@
+package com.careeros.backend.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrency limit that follows observed latency, in the style of the gradient
+ * algorithm. Each sampling window's average latency is compared with a slowly moving
+ * long-term average: while latency holds steady the limit grows by a small queue
+ * allowance per window, and when it rises the limit shrinks in proportion, by at
+ * most half.
+ * A window with failed requests cuts the limit multiplicatively, as in AIMD.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DROP_BACKOFF = 0.9;
+    private static final double MAX_QUEUE_ALLOWANCE = 4;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final int longWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+
+    // Window state, guarded by this
+    private long windowStart = System.nanoTime();
+    private long windowLatencySum;
+    private int windowSamples;
+    private int windowMaxInFlight;
+    private boolean windowDropped;
+    private double longLatency;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, double tolerance,
+                                      double smoothing, long windowMs, int minWindowSamples, int longWindow) {
+        this.name = name;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.minWindowSamples = Math.max(1, minWindowSamples);
+        this.longWindow = Math.max(1, longWindow);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * Take a slot, or return false straight away when the group is at its limit
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Give the slot back and feed the request's latency into the estimate
+     *
+     * @param dropped whether the request failed in a way that points at overload
+     */
+    public void release(long latencyNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        sample(latencyNanos, current, dropped);
+    }
+
+    private synchronized void sample(long latencyNanos, int inFlightAtCompletion, boolean dropped) {
+        windowLatencySum += latencyNanos;
+        windowSamples++;
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+        windowDropped |= dropped;
+
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos || windowSamples < minWindowSamples) {
+            return;
+        }
+        updateLimit((double) windowLatencySum / windowSamples);
+
+        windowStart = now;
+        windowLatencySum = 0;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+        windowDropped = false;
+    }
+
+    private void updateLimit(double shortLatency) {
+        if (longLatency == 0) {
+            longLatency = shortLatency;
+        } else if (shortLatency < longLatency) {
+            // The baseline follows improvements quickly, so a slow start (cold JIT,
+            // connections still opening) does not leave it too high to ever detect queueing
+            longLatency += (shortLatency - longLatency) / Math.max(1, longWindow / 10);
+        } else {
+            longLatency += (shortLatency - longLatency) / longWindow;
+        }
+
+        double estimate;
+        if (windowDropped) {
+            estimate = limit * DROP_BACKOFF;
+        } else if (windowMaxInFlight < limit / 2) {
+            // Demand was well below the limit, so latency says nothing about it
+            return;
+        } else {
+            double gradient = Math.max(0.5, Math.min(1.0, tolerance * longLatency / shortLatency));
+            estimate = limit * gradient + Math.min(MAX_QUEUE_ALLOWANCE, Math.sqrt(limit));
+        }
+        limit = clamp(limit * (1 - smoothing) + estimate * smoothing);
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+}
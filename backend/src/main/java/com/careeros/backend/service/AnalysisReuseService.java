@@ -0,0 +1,207 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.payload.request.AIAnalysisRequest;
+import com.careeros.backend.payload.response.AIAnalysisResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Reuses a user's earlier analysis when they submit nearly the same content again,
+ * for example a resume that only differs by a date or a typo.
+ *
+ * Every analysis is remembered with the MinHash signature of its content. The
+ * signature's 128 bins are split into 32 bands of 4; an analysis is indexed under one
+ * key per band, scoped to the user and analysis type, so finding candidates is 32
+ * hash lookups however many analyses are remembered. Candidates are then compared bin
+ * by bin and the most similar one at or above the threshold is used.
+ *
+ * In reuse mode the earlier result is returned without calling the AI service. In
+ * draft mode the AI service is called with the earlier result in the request's
+ * parameters, for it to revise rather than start over.
+ */
+@Service
+public class AnalysisReuseService {
+
+    private static final int BANDS = 32;
+
+    private static final int ROWS = ContentFingerprint.BINS / BANDS;
+
+    public enum Mode { REUSE, DRAFT }
+
+    /** The analysis, and the id of the earlier one it was reused from, or null */
+    public record Result(AIAnalysisResponse response, String reusedAnalysisId) {}
+
+    private record Entry(long userId, String analysisType, long[] signature, long[] bandKeys,
+                         AIAnalysisResponse response, long createdAt) {}
+
+    @Value("${ai.near-duplicate.enabled:true}")
+    private boolean enabled;
+
+    @Value("${ai.near-duplicate.threshold:0.9}")
+    private double threshold;
+
+    private Mode mode = Mode.REUSE;
+
+    @Value("${ai.near-duplicate.ttl-ms:86400000}")
+    private long ttlMs;
+
+    @Value("${ai.near-duplicate.max-entries:50000}")
+    private int maxEntries;
+
+    /** Guarded by this, like buckets */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    private final Map<Long, List<Entry>> buckets = new HashMap<>();
+
+    private final Counter reused;
+
+    private final Counter drafted;
+
+    private final Counter missed;
+
+    public AnalysisReuseService(MeterRegistry meterRegistry) {
+        this.reused = outcomeCounter(meterRegistry, "reused");
+        this.drafted = outcomeCounter(meterRegistry, "drafted");
+        this.missed = outcomeCounter(meterRegistry, "miss");
+        Gauge.builder("ai.analyze.near_duplicate.hit_ratio", this, AnalysisReuseService::hitRatio)
+                .description("Share of analyze requests that matched an earlier analysis")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Parsed once at startup, so a misspelt mode fails there rather than on every request
+     */
+    @Value("${ai.near-duplicate.mode:reuse}")
+    void setMode(String mode) {
+        try {
+            this.mode = Mode.valueOf(mode.strip().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ai.near-duplicate.mode must be reuse or draft, not '" + mode + "'");
+        }
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("ai.analyze.near_duplicate")
+                .description("Analyze requests by whether they matched an earlier analysis of the same user")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Run the analysis unless the user recently analysed nearly the same content
+     */
+    public Result analyze(long userId, AIAnalysisRequest request, Supplier<AIAnalysisResponse> call) {
+        if (!enabled || request.getContent() == null) {
+            return new Result(call.get(), null);
+        }
+        String analysisType = request.getAnalysisType() == null ? "" : request.getAnalysisType();
+        long[] signature = ContentFingerprint.signature(request.getContent());
+        long[] bandKeys = bandKeys(userId, analysisType, signature);
+
+        Entry match = find(userId, analysisType, signature, bandKeys);
+        if (match != null && mode == Mode.REUSE) {
+            reused.increment();
+            AIAnalysisResponse earlier = match.response();
+            return new Result(new AIAnalysisResponse(earlier.getAnalysisId(), earlier.getUserId(), request.getContent(),
+                    earlier.getAnalysisType(), earlier.getResult(), earlier.getConfidenceScore(),
+                    earlier.getProcessingTimeMs(), earlier.getCreatedAt(), earlier.getStatus()),
+                    earlier.getAnalysisId());
+        }
+        if (match != null) {
+            drafted.increment();
+            Map<String, Object> parameters = request.getParameters() == null
+                    ? new LinkedHashMap<>() : new LinkedHashMap<>(request.getParameters());
+            parameters.put("draftAnalysisId", match.response().getAnalysisId());
+            parameters.put("draftResult", match.response().getResult());
+            request.setParameters(parameters);
+        } else {
+            missed.increment();
+        }
+
+        AIAnalysisResponse response = call.get();
+        if (response != null) {
+            // The echoed content can be megabytes; the signature is all that is needed to match it
+            AIAnalysisResponse kept = new AIAnalysisResponse(response.getAnalysisId(), response.getUserId(), null,
+                    response.getAnalysisType(), response.getResult(), response.getConfidenceScore(),
+                    response.getProcessingTimeMs(), response.getCreatedAt(), response.getStatus());
+            remember(new Entry(userId, analysisType, signature, bandKeys, kept, System.currentTimeMillis()));
+        }
+        return new Result(response, null);
+    }
+
+    /**
+     * Reused or drafted requests as a share of all requests checked so far
+     */
+    public double hitRatio() {
+        double hits = reused.count() + drafted.count();
+        double total = hits + missed.count();
+        return total == 0 ? 0 : hits / total;
+    }
+
+    private synchronized Entry find(long userId, String analysisType, long[] signature, long[] bandKeys) {
+        long expiredBefore = System.currentTimeMillis() - ttlMs;
+        Entry best = null;
+        double bestSimilarity = threshold;
+        for (long key : bandKeys) {
+            List<Entry> bucket = buckets.get(key);
+            if (bucket == null) {
+                continue;
+            }
+            for (Entry entry : bucket) {
+                if (entry.userId() != userId || !entry.analysisType().equals(analysisType)
+                        || entry.createdAt() < expiredBefore || entry == best) {
+                    continue;
+                }
+                double similarity = ContentFingerprint.similarity(signature, entry.signature());
+                if (similarity >= bestSimilarity) {
+                    best = entry;
+                    bestSimilarity = similarity;
+                }
+            }
+        }
+        return best;
+    }
+
+    private synchronized void remember(Entry entry) {
+        entries.addLast(entry);
+        for (long key : entry.bandKeys()) {
+            buckets.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+        }
+        long expiredBefore = System.currentTimeMillis() - ttlMs;
+        while (!entries.isEmpty() && (entries.size() > maxEntries || entries.peekFirst().createdAt() < expiredBefore)) {
+            Entry oldest = entries.removeFirst();
+            for (long key : oldest.bandKeys()) {
+                List<Entry> bucket = buckets.get(key);
+                bucket.remove(oldest);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    private static long[] bandKeys(long userId, String analysisType, long[] signature) {
+        long scope = ContentFingerprint.mix(userId * 31 + analysisType.hashCode());
+        long[] keys = new long[BANDS];
+        for (int band = 0; band < BANDS; band++) {
+            long key = scope + band;
+            for (int row = 0; row < ROWS; row++) {
+                key = ContentFingerprint.mix(key ^ signature[band * ROWS + row]);
+            }
+            keys[band] = key;
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,399 @@
+package com.careeros.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Copies a raw analyze request body from the client to the AI service without
+ * materializing it. The body is scanned once through fixed-size buffers and held
+ * to the same rules as a bound AIAnalysisRequest: the client supplied userId is
+ * replaced by the authenticated one, content must be a non-blank string within
+ * the length limit, analysisType a string and parameters an object. Those fields
+ * are passed through byte for byte; any other field is dropped.
+ *
+ * Field names are compared after decoding escapes and may appear only once, so a
+ * name like "user\\u0049d" cannot smuggle a second userId or content past the
+ * checks to a parser that keeps the last duplicate.
+ */
+class AnalyzeRequestStreamer {
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_KEY_BYTES = 256;
+    private static final int MAX_NESTING = 64;
+    private static final int MAX_LITERAL_LENGTH = 64;
+
+    private static final Pattern LITERAL =
+            Pattern.compile("-?(0|[1-9][0-9]*)(\\.[0-9]+)?([eE][+-]?[0-9]+)?|true|false|null");
+
+    private static final String CONTENT = "content";
+    private static final String ANALYSIS_TYPE = "analysisType";
+    private static final String PARAMETERS = "parameters";
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final Integer userId;
+    private final long maxContentChars;
+    private final long maxRequestBytes;
+
+    private final byte[] inBuffer = new byte[BUFFER_SIZE];
+    private int inPos;
+    private int inLimit;
+    private long bytesRead;
+
+    private final byte[] outBuffer = new byte[BUFFER_SIZE];
+    private int outPos;
+
+    private long contentChars;
+    /** Whether the last string read was empty or whitespace only */
+    private boolean lastStringBlank;
+
+    AnalyzeRequestStreamer(InputStream in, OutputStream out, Integer userId,
+                           long maxContentChars, long maxRequestBytes) {
+        this.in = in;
+        this.out = out;
+        this.userId = userId;
+        this.maxContentChars = maxContentChars;
+        this.maxRequestBytes = maxRequestBytes;
+    }
+
+    /**
+     * Stream the whole request body, returning the number of bytes read from the client
+     */
+    long transfer() throws IOException {
+        expect(nextNonWhitespace(), '{');
+        write('{');
+        writeAscii("\"userId\":" + userId);
+
+        Set<String> seen = new HashSet<>();
+        int c = nextNonWhitespace();
+        if (c != '}') {
+            while (true) {
+                expect(c, '"');
+                String key = readKey();
+                if (!seen.add(key)) {
+                    throw invalid("Duplicate field name");
+                }
+                expect(nextNonWhitespace(), ':');
+
+                int v = nextNonWhitespace();
+                switch (key) {
+                    case CONTENT -> {
+                        if (v != '"') {
+                            throw invalid("Content must be a string");
+                        }
+                        writeAscii(",\"" + CONTENT + "\":\"");
+                        contentChars = readString(true, maxContentChars);
+                        if (lastStringBlank) {
+                            contentChars = 0;
+                        }
+                    }
+                    case ANALYSIS_TYPE -> {
+                        if (v != '"' && v != 'n') {
+                            throw invalid("analysisType must be a string");
+                        }
+                        writeAscii(",\"" + ANALYSIS_TYPE + "\":");
+                        value(v, 0, true);
+                    }
+                    case PARAMETERS -> {
+                        if (v != '{' && v != 'n') {
+                            throw invalid("parameters must be an object");
+                        }
+                        writeAscii(",\"" + PARAMETERS + "\":");
+                        value(v, 0, true);
+                    }
+                    // The client's userId and fields AIAnalysisRequest does not have are dropped
+                    default -> value(v, 0, false);
+                }
+
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    break;
+                }
+                expect(c, ',');
+                c = nextNonWhitespace();
+            }
+        }
+
+        if (nextNonWhitespace() != -1) {
+            throw invalid("Unexpected data after request body");
+        }
+        if (!seen.contains(CONTENT) || contentChars == 0) {
+            throw new IllegalArgumentException("Content must not be blank");
+        }
+        if (!seen.contains(ANALYSIS_TYPE)) {
+            writeAscii(",\"" + ANALYSIS_TYPE + "\":\"general\"");
+        }
+
+        write('}');
+        flush();
+        return bytesRead;
+    }
+
+    /**
+     * Read a field name after its opening quote, decoding escapes so that a name
+     * spelled with \\u escapes is the same field as the plain one
+     */
+    private String readKey() throws IOException {
+        StringBuilder key = new StringBuilder();
+        byte[] raw = new byte[MAX_KEY_BYTES];
+        int rawLength = 0;
+        int c;
+        while ((c = next()) != '"') {
+            if (c == -1) {
+                throw invalid("Unterminated field name");
+            }
+            if (key.length() + rawLength >= MAX_KEY_BYTES) {
+                throw invalid("Field name too long");
+            }
+            if (c == '\\') {
+                // Escapes are ASCII, so raw never ends in the middle of a UTF-8 sequence here
+                key.append(new String(raw, 0, rawLength, StandardCharsets.UTF_8));
+                rawLength = 0;
+                key.append(readEscape(false));
+            } else if (c < 0x20) {
+                throw invalid("Control character in field name");
+            } else {
+                raw[rawLength++] = (byte) c;
+            }
+        }
+        return key.append(new String(raw, 0, rawLength, StandardCharsets.UTF_8)).toString();
+    }
+
+    /**
+     * Check (and if copy, write) one JSON value starting with c
+     */
+    private void value(int c, int depth, boolean copy) throws IOException {
+        if (depth > MAX_NESTING) {
+            throw invalid("Request nested too deeply");
+        }
+        if (c == '"') {
+            emit(c, copy);
+            readString(copy, Long.MAX_VALUE);
+        } else if (c == '{') {
+            emit(c, copy);
+            int d = nextNonWhitespace();
+            if (d != '}') {
+                while (true) {
+                    expect(d, '"');
+                    emit(d, copy);
+                    readString(copy, Long.MAX_VALUE);
+                    expect(nextNonWhitespace(), ':');
+                    emit(':', copy);
+                    value(nextNonWhitespace(), depth + 1, copy);
+                    d = nextNonWhitespace();
+                    if (d == '}') {
+                        break;
+                    }
+                    expect(d, ',');
+                    emit(d, copy);
+                    d = nextNonWhitespace();
+                }
+            }
+            emit('}', copy);
+        } else if (c == '[') {
+            emit(c, copy);
+            int d = nextNonWhitespace();
+            if (d != ']') {
+                while (true) {
+                    value(d, depth + 1, copy);
+                    d = nextNonWhitespace();
+                    if (d == ']') {
+                        break;
+                    }
+                    expect(d, ',');
+                    emit(d, copy);
+                    d = nextNonWhitespace();
+                }
+            }
+            emit(']', copy);
+        } else {
+            literal(c, copy);
+        }
+    }
+
+    /**
+     * Check (and if copy, write) the rest of a string after its opening quote
+     *
+     * @return the length of the decoded string in UTF-16 chars, as String.length() would count it
+     */
+    private long readString(boolean copy, long maxChars) throws IOException {
+        boolean blank = true;
+        long chars = 0;
+        int c;
+        while ((c = next()) != '"') {
+            if (c == -1) {
+                throw invalid("Unterminated string");
+            }
+            emit(c, copy);
+            if (c == '\\') {
+                char decoded = readEscape(copy);
+                if (decoded > ' ') {
+                    blank = false;
+                }
+                chars++;
+            } else if (c < 0x20) {
+                throw invalid("Control character in string");
+            } else if (c < 0x80) {
+                if (c != ' ') {
+                    blank = false;
+                }
+                chars++;
+            } else if ((c & 0xC0) != 0x80) {
+                // Lead byte of a UTF-8 sequence; four-byte sequences are surrogate pairs
+                blank = false;
+                chars += c >= 0xF0 ? 2 : 1;
+            }
+            if (chars > maxChars) {
+                throw new IllegalArgumentException("Content exceeds " + maxChars + " characters");
+            }
+        }
+        emit(c, copy);
+        lastStringBlank = blank;
+        return chars;
+    }
+
+    /**
+     * Decode the escape after a backslash
+     */
+    private char readEscape(boolean copy) throws IOException {
+        int c = next();
+        if (c == -1) {
+            throw invalid("Unterminated string");
+        }
+        emit(c, copy);
+        switch (c) {
+            case '"', '\\', '/' -> {
+                return (char) c;
+            }
+            case 'b' -> {
+                return '\b';
+            }
+            case 'f' -> {
+                return '\f';
+            }
+            case 'n' -> {
+                return '\n';
+            }
+            case 'r' -> {
+                return '\r';
+            }
+            case 't' -> {
+                return '\t';
+            }
+            case 'u' -> {
+                int code = 0;
+                for (int i = 0; i < 4; i++) {
+                    int h = next();
+                    int digit = Character.digit(h, 16);
+                    if (h == -1 || digit < 0) {
+                        throw invalid("Invalid unicode escape");
+                    }
+                    emit(h, copy);
+                    code = code * 16 + digit;
+                }
+                return (char) code;
+            }
+            default -> throw invalid("Invalid escape");
+        }
+    }
+
+    private void literal(int c, boolean copy) throws IOException {
+        if (!isLiteralByte(c)) {
+            throw invalid("Unexpected character in request body");
+        }
+        StringBuilder literal = new StringBuilder().append((char) c);
+        while (isLiteralByte(peek())) {
+            if (literal.length() == MAX_LITERAL_LENGTH) {
+                throw invalid("Value too long");
+            }
+            literal.append((char) next());
+        }
+        if (!LITERAL.matcher(literal).matches()) {
+            throw invalid("Invalid value");
+        }
+        if (copy) {
+            writeAscii(literal);
+        }
+    }
+
+    private static boolean isLiteralByte(int c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || c == '-' || c == '+' || c == '.' || c == 'E';
+    }
+
+    private static IllegalArgumentException invalid(String message) {
+        return new IllegalArgumentException("Invalid analysis request: " + message);
+    }
+
+    private static void expect(int actual, char expected) {
+        if (actual != expected) {
+            throw invalid("Expected '" + expected + "'");
+        }
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c;
+        do {
+            c = next();
+        } while (c == ' ' || c == '\n' || c == '\r' || c == '\t');
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (inPos == inLimit && !fill()) {
+            return -1;
+        }
+        return inBuffer[inPos] & 0xFF;
+    }
+
+    private int next() throws IOException {
+        if (inPos == inLimit && !fill()) {
+            return -1;
+        }
+        return inBuffer[inPos++] & 0xFF;
+    }
+
+    private boolean fill() throws IOException {
+        int n = in.read(inBuffer, 0, BUFFER_SIZE);
+        if (n <= 0) {
+            return false;
+        }
+        bytesRead += n;
+        if (bytesRead > maxRequestBytes) {
+            throw new IllegalArgumentException("Request body exceeds " + maxRequestBytes + " bytes");
+        }
+        inPos = 0;
+        inLimit = n;
+        return true;
+    }
+
+    private void write(int b) throws IOException {
+        if (outPos == BUFFER_SIZE) {
+            flush();
+        }
+        outBuffer[outPos++] = (byte) b;
+    }
+
+    private void emit(int b, boolean copy) throws IOException {
+        if (copy) {
+            write(b);
+        }
+    }
+
+    private void writeAscii(CharSequence s) throws IOException {
+        for (int i = 0; i < s.length(); i++) {
+            write(s.charAt(i));
+        }
+    }
+
+    private void flush() throws IOException {
+        if (outPos > 0) {
+            out.write(outBuffer, 0, outPos);
+            outPos = 0;
+        }
+    }
+}
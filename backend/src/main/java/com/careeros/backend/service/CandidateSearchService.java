@@ -0,0 +1,118 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.CandidateSearchIndexInitializer;
+import com.careeros.backend.model.Role;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * Recruiter search over candidates by username, email or full name.
+ *
+ * Matching is case-insensitive on lower(column), which the trigram indexes created by
+ * CandidateSearchIndexInitializer cover on Postgres for both prefix and substring
+ * patterns. Pages are keyset-paginated on the user id, so a deep page costs the same
+ * as the first one, and rows are handed to the caller as the driver fetches them.
+ */
+@Service
+public class CandidateSearchService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    /** pg_trgm indexes only narrow a LIKE pattern with at least one full trigram */
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int FETCH_SIZE = 100;
+
+    public enum Match {
+        PREFIX,
+        CONTAINS
+    }
+
+    public record Candidate(Long id, String username, String email, String firstName, String lastName) {}
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final CandidateSearchIndexInitializer indexes;
+
+    /** Built on first use: the full name expression depends on the database */
+    private volatile String searchSql;
+
+    public CandidateSearchService(JdbcTemplate jdbcTemplate, CandidateSearchIndexInitializer indexes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indexes = indexes;
+    }
+
+    /**
+     * Pass up to limit candidates with an id above afterId to sink, in id order
+     *
+     * @return the cursor for the next page, or null when this was the last one
+     */
+    @Transactional(readOnly = true)
+    public Long search(String query, Match match, long afterId, int limit, Consumer<Candidate> sink) {
+        String term = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+        if (term.length() < MIN_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        String escaped = escapeLike(term);
+        String pattern = match == Match.PREFIX ? escaped + "%" : "%" + escaped + "%";
+        long[] lastId = {afterId};
+        int[] rows = {0};
+
+        // One row past the page tells whether there is a next page without a COUNT
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(searchSql());
+            statement.setFetchSize(FETCH_SIZE);
+            statement.setLong(1, afterId);
+            statement.setString(2, pattern);
+            statement.setString(3, pattern);
+            statement.setString(4, pattern);
+            statement.setString(5, Role.ROLE_CANDIDATE.name());
+            statement.setInt(6, limit + 1);
+            return statement;
+        }, resultSet -> {
+            if (++rows[0] > limit) {
+                return;
+            }
+            lastId[0] = resultSet.getLong("id");
+            sink.accept(new Candidate(lastId[0], resultSet.getString("username"), resultSet.getString("email"),
+                    resultSet.getString("first_name"), resultSet.getString("last_name")));
+        });
+
+        return rows[0] > limit ? lastId[0] : null;
+    }
+
+    private String searchSql() {
+        if (searchSql == null) {
+            searchSql = "SELECT u.id, u.username, u.email, u.first_name, u.last_name FROM users u "
+                    + "WHERE u.id > ? "
+                    + "AND (lower(u.username) LIKE ? ESCAPE '\\' "
+                    + "OR lower(u.email) LIKE ? ESCAPE '\\' "
+                    + "OR " + indexes.fullNameExpression() + " LIKE ? ESCAPE '\\') "
+                    + "AND EXISTS (SELECT 1 FROM user_roles r WHERE r.user_id = u.id AND r.role = ?) "
+                    + "ORDER BY u.id "
+                    + "LIMIT ?";
+        }
+        return searchSql;
+    }
+
+    private static String escapeLike(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 4);
+        for (int i = 0; i < term.length(); i++) {
+            char c = term.charAt(i);
+            if (c == '\\' || c == '%' || c == '_') {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
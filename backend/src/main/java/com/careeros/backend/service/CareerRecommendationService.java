@@ -0,0 +1,111 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.payload.request.CareerRecommendationRequest;
+import com.careeros.backend.payload.response.CareerRecommendationResponse;
+import com.careeros.backend.security.UserDetailsImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Career recommendations: the parts that need a model come from the AI service, the
+ * deterministic parts are computed here and replace what the AI service sent: skill
+ * gaps, courses for those gaps from the local catalog, and market trends from the
+ * shared regional snapshot once it has been loaded. Similar roles from the local role
+ * index are added to the recommendations.
+ */
+@Service
+public class CareerRecommendationService {
+
+    /** Keys the AI service has used for a recommendation's role title */
+    private static final List<String> TITLE_KEYS = List.of("title", "jobTitle", "job_title");
+
+    private final AIService aiService;
+
+    private final AIScheduler aiScheduler;
+
+    private final SkillTaxonomyService skillTaxonomyService;
+
+    private final SkillGapEngine skillGapEngine;
+
+    private final MarketTrendsService marketTrendsService;
+
+    private final CourseCatalog courseCatalog;
+
+    private final RoleMatchService roleMatchService;
+
+    @Value("${app.courses.suggestions:5}")
+    private int suggestedCourses;
+
+    public CareerRecommendationService(AIService aiService, AIScheduler aiScheduler,
+                                       SkillTaxonomyService skillTaxonomyService, SkillGapEngine skillGapEngine,
+                                       MarketTrendsService marketTrendsService, CourseCatalog courseCatalog,
+                                       RoleMatchService roleMatchService) {
+        this.aiService = aiService;
+        this.aiScheduler = aiScheduler;
+        this.skillTaxonomyService = skillTaxonomyService;
+        this.skillGapEngine = skillGapEngine;
+        this.marketTrendsService = marketTrendsService;
+        this.courseCatalog = courseCatalog;
+        this.roleMatchService = roleMatchService;
+    }
+
+    public CareerRecommendationResponse recommend(UserDetailsImpl user, CareerRecommendationRequest request) {
+        skillTaxonomyService.normalize(request);
+
+        CareerRecommendationResponse response = aiScheduler.run(user, () -> aiService.getCareerRecommendations(request));
+        if (response == null) {
+            return null;
+        }
+        List<Integer> interestIds = skillTaxonomyService.normalize(request.getInterests()).ids();
+        SkillGapEngine.RoleMatch match = skillGapEngine.bestMatch(request.getSkillIds(), interestIds);
+        response.setRecommendations(withCandidateRoles(response.getRecommendations(),
+                roleMatchService.candidateRoles(request.getSkillIds(), interestIds)));
+        // Without a local role sharing a skill with the user, the AI service's gaps stand
+        if (match != null) {
+            response.setSkillGaps(skillGapEngine.skillGaps(match));
+        }
+        if (courseCatalog.size() > 0) {
+            List<Integer> gapIds = match != null ? match.missingSkillIds()
+                    : skillTaxonomyService.normalize(response.getSkillGaps()).ids();
+            response.setSuggestedCourses(courseCatalog.suggestedCourses(gapIds, suggestedCourses));
+        }
+        Map<String, Object> marketTrends = marketTrendsService.trendsFor(request.getLocation());
+        if (marketTrends != null) {
+            response.setMarketTrends(marketTrends);
+        }
+        return response;
+    }
+
+    /**
+     * The AI service's recommendations followed by the local candidate roles it did not
+     * already name
+     */
+    private static List<Map<String, Object>> withCandidateRoles(List<Map<String, Object>> recommendations,
+                                                                List<Map<String, Object>> candidateRoles) {
+        List<Map<String, Object>> merged = new ArrayList<>();
+        Set<String> titles = new HashSet<>();
+        if (recommendations != null) {
+            for (Map<String, Object> recommendation : recommendations) {
+                merged.add(recommendation);
+                for (String key : TITLE_KEYS) {
+                    if (recommendation.get(key) instanceof String title) {
+                        titles.add(title.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        for (Map<String, Object> role : candidateRoles) {
+            if (titles.add(((String) role.get("title")).toLowerCase(Locale.ROOT))) {
+                merged.add(role);
+            }
+        }
+        return merged;
+    }
+}
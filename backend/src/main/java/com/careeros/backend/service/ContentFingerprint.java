@@ -0,0 +1,117 @@
+package com.careeros.backend.service;
+
+import java.util.Arrays;
+
+/**
+ * MinHash signatures of text, for estimating how much two documents overlap.
+ *
+ * Text is split into lower-cased words and every run of three words is one shingle.
+ * The signature is a one-permutation MinHash: each shingle is hashed once, the top
+ * bits of the hash pick one of 128 bins and the bin keeps the smallest hash it sees.
+ * The share of bins two signatures agree on estimates the Jaccard similarity of
+ * their shingle sets, so a changed date or a typo in a resume costs a few shingles
+ * and still scores close to 1. Cost is one hash per word, independent of the number
+ * of bins.
+ */
+public final class ContentFingerprint {
+
+    public static final int BINS = 128;
+
+    private static final int BIN_SHIFT = Long.SIZE - Integer.numberOfTrailingZeros(BINS);
+
+    private static final int SHINGLE_WORDS = 3;
+
+    private static final long EMPTY = Long.MAX_VALUE;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private ContentFingerprint() {
+    }
+
+    /**
+     * Signature of the text; texts shorter than one shingle use their words as shingles
+     */
+    public static long[] signature(CharSequence text) {
+        long[] bins = new long[BINS];
+        Arrays.fill(bins, EMPTY);
+
+        long w1 = 0;
+        long w2 = 0;
+        int words = 0;
+        long word = FNV_OFFSET;
+        boolean inWord = false;
+        for (int i = 0, n = text.length(); i <= n; i++) {
+            char c = i < n ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word = (word ^ Character.toLowerCase(c)) * 0x100000001b3L;
+                inWord = true;
+                continue;
+            }
+            if (!inWord) {
+                continue;
+            }
+            words++;
+            if (words >= SHINGLE_WORDS) {
+                add(bins, mix(w1 * 0x9E3779B97F4A7C15L + w2 * 0xC2B2AE3D27D4EB4FL + word));
+            }
+            w1 = w2;
+            w2 = word;
+            word = FNV_OFFSET;
+            inWord = false;
+        }
+        if (words > 0 && words < SHINGLE_WORDS) {
+            add(bins, mix(w1 * 0x9E3779B97F4A7C15L + w2));
+        }
+        densify(bins);
+        return bins;
+    }
+
+    /**
+     * Estimated Jaccard similarity of the shingle sets behind two signatures
+     */
+    public static double similarity(long[] a, long[] b) {
+        int equal = 0;
+        for (int i = 0; i < BINS; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / BINS;
+    }
+
+    private static void add(long[] bins, long hash) {
+        int bin = (int) (hash >>> BIN_SHIFT);
+        long value = hash & (-1L >>> (Long.SIZE - BIN_SHIFT));
+        if (value < bins[bin]) {
+            bins[bin] = value;
+        }
+    }
+
+    /**
+     * Fill empty bins from the next non-empty one to the right, salted with the
+     * distance, so short texts still compare bin by bin. An empty text keeps all bins
+     * empty and matches only other empty texts.
+     */
+    private static void densify(long[] bins) {
+        for (int i = 0; i < BINS; i++) {
+            if (bins[i] != EMPTY) {
+                continue;
+            }
+            for (int distance = 1; distance < BINS; distance++) {
+                long donor = bins[(i + distance) % BINS];
+                // Filled bins are negative and never donate, so the result does not depend on order
+                if (donor != EMPTY && donor >= 0) {
+                    bins[i] = mix(donor + distance) | Long.MIN_VALUE;
+                    break;
+                }
+            }
+        }
+    }
+
+    /** The SplitMix64 finaliser */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
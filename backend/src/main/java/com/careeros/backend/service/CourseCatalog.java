@@ -0,0 +1,482 @@
+package com.careeros.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Local course catalog for suggested courses, held as an inverted index from skill id
+ * to the courses that teach it.
+ *
+ * Each posting carries a score computed when the course is indexed: the course's
+ * rating, divided by the square root of how many skills it covers so that focused
+ * courses beat broad ones. A query adds up the postings of the requested skills and
+ * keeps the k best courses in a bounded min-heap, so it touches only courses that
+ * cover at least one of them.
+ *
+ * The index is immutable and published through a volatile field. Adding, changing or
+ * removing a course rebuilds only the postings of that course's skills; the rest are
+ * shared with the previous index. Courses live in append-only slots, so a replaced
+ * course's old slot is simply no longer referenced.
+ *
+ * The catalog comes from taxonomy/courses.csv, one course per line:
+ * "id,Title,Platform,Duration,Rating,skill,skill,...". A file catalog is checked for
+ * changes on a schedule and only the courses that differ are re-indexed. A reload of
+ * the skill taxonomy re-indexes the whole catalog, since its skills may resolve
+ * differently.
+ */
+@Service
+public class CourseCatalog {
+
+    private static final Logger logger = LoggerFactory.getLogger(CourseCatalog.class);
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    private static final float[] NO_SCORES = new float[0];
+
+    @Value("${app.courses.catalog-location:classpath:taxonomy/courses.csv}")
+    private String location;
+
+    private final SkillTaxonomyService taxonomyService;
+
+    private final ResourceLoader resourceLoader;
+
+    private volatile Index index = new Index(new Course[0], 0, new Postings[0], 0);
+
+    private volatile long loadedLastModified;
+
+    /** Writer-side state, guarded by this */
+    private final Map<String, Integer> slotById = new HashMap<>();
+
+    public CourseCatalog(SkillTaxonomyService taxonomyService, ResourceLoader resourceLoader) {
+        this.taxonomyService = taxonomyService;
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * One course; skillIds are the taxonomy ids of the skills it teaches
+     */
+    public record Course(String id, String title, String platform, String duration, double rating,
+                         List<Integer> skillIds) {
+
+        public Course {
+            if (skillIds.isEmpty()) {
+                throw new IllegalArgumentException("Course '" + id + "' teaches no skills");
+            }
+            if (!(rating > 0)) {
+                throw new IllegalArgumentException("Course '" + id + "' needs a positive rating");
+            }
+            skillIds = List.copyOf(new LinkedHashSet<>(skillIds));
+        }
+    }
+
+    private record Postings(int[] slots, float[] scores) {}
+
+    /** slots[0, size) hold every course ever indexed; only live ones appear in postings */
+    private record Index(Course[] slots, int size, Postings[] bySkill, int live) {}
+
+    @PostConstruct
+    void load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        List<Course> courses = read(resource);
+        synchronized (this) {
+            rebuild(courses);
+        }
+        loadedLastModified = lastModified(resource);
+        logger.info("Loaded {} courses from {}", courses.size(), location);
+        taxonomyService.addReloadListener(this::reindex);
+    }
+
+    /**
+     * Resolve every course's skills against a reloaded taxonomy; if they no longer
+     * resolve, the current index stays
+     */
+    void reindex(SkillTaxonomy taxonomy) {
+        Resource resource = resourceLoader.getResource(location);
+        List<Course> courses;
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            courses = parse(reader, taxonomy);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Courses from {} do not resolve against the reloaded skill taxonomy, keeping the "
+                    + "previous ones: {}", location, e.getMessage());
+            return;
+        }
+        synchronized (this) {
+            rebuild(courses);
+        }
+        loadedLastModified = lastModified(resource);
+        logger.info("Re-indexed {} courses from {} against the reloaded skill taxonomy", courses.size(), location);
+    }
+
+    public int size() {
+        return index.live();
+    }
+
+    /**
+     * The k courses that best cover the given skills, best first. A course covering
+     * several of them scores the sum of its postings; ties go to the course indexed first.
+     */
+    public List<Course> topCourses(Collection<Integer> skillIds, int k) {
+        Index current = index;
+        if (k <= 0 || skillIds.isEmpty() || current.live() == 0) {
+            return List.of();
+        }
+
+        float[] totals = new float[current.size()];
+        int[] touched = new int[16];
+        int touchedCount = 0;
+        for (int skillId : skillIds) {
+            if (skillId < 0 || skillId >= current.bySkill().length || current.bySkill()[skillId] == null) {
+                continue;
+            }
+            Postings postings = current.bySkill()[skillId];
+            int[] slots = postings.slots();
+            float[] scores = postings.scores();
+            for (int i = 0; i < slots.length; i++) {
+                int slot = slots[i];
+                if (totals[slot] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = slot;
+                }
+                totals[slot] += scores[i];
+            }
+        }
+
+        // Min-heap of the best k so far: heap[0] is the weakest one kept
+        int[] heap = new int[Math.min(k, touchedCount)];
+        int heapSize = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int slot = touched[i];
+            if (heapSize < heap.length) {
+                heap[heapSize] = slot;
+                siftUp(heap, heapSize++, totals);
+            } else if (better(slot, heap[0], totals)) {
+                heap[0] = slot;
+                siftDown(heap, heapSize, totals);
+            }
+        }
+
+        Course[] best = new Course[heapSize];
+        while (heapSize > 0) {
+            best[heapSize - 1] = current.slots()[heap[0]];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, totals);
+        }
+        return Arrays.asList(best);
+    }
+
+    /**
+     * The top-k courses as response entries, each listing which of the requested
+     * skills it covers
+     */
+    public List<Map<String, Object>> suggestedCourses(List<Integer> skillIds, int k) {
+        List<Course> courses = topCourses(skillIds, k);
+        SkillTaxonomy taxonomy = taxonomyService.getTaxonomy();
+        List<Map<String, Object>> suggestions = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            List<String> covers = new ArrayList<>();
+            for (int skillId : course.skillIds()) {
+                if (skillIds.contains(skillId)) {
+                    covers.add(taxonomy.canonicalName(skillId));
+                }
+            }
+            Map<String, Object> suggestion = new LinkedHashMap<>();
+            suggestion.put("id", course.id());
+            suggestion.put("title", course.title());
+            suggestion.put("platform", course.platform());
+            suggestion.put("duration", course.duration());
+            suggestion.put("rating", course.rating());
+            suggestion.put("covers", covers);
+            suggestions.add(suggestion);
+        }
+        return suggestions;
+    }
+
+    /**
+     * Add a course, or replace the one with the same id, re-indexing only its skills
+     */
+    public synchronized void upsert(Course course) {
+        Index current = index;
+        Integer oldSlot = slotById.get(course.id());
+        Course old = oldSlot != null ? current.slots()[oldSlot] : null;
+        if (course.equals(old)) {
+            return;
+        }
+
+        Course[] slots = current.slots();
+        int slot = current.size();
+        if (slot == slots.length) {
+            slots = Arrays.copyOf(slots, Math.max(16, slots.length * 2));
+        }
+        slots[slot] = course;
+        slotById.put(course.id(), slot);
+
+        Set<Integer> affected = new HashSet<>(course.skillIds());
+        if (old != null) {
+            affected.addAll(old.skillIds());
+        }
+        Postings[] bySkill = Arrays.copyOf(current.bySkill(),
+                Math.max(current.bySkill().length, maxId(course.skillIds()) + 1));
+        float score = score(course);
+        for (int skillId : affected) {
+            bySkill[skillId] = replace(bySkill[skillId], oldSlot, course.skillIds().contains(skillId) ? slot : -1, score);
+        }
+        publish(new Index(slots, slot + 1, bySkill, current.live() + (old == null ? 1 : 0)));
+    }
+
+    /**
+     * Remove a course from the index; returns false when there is none with that id
+     */
+    public synchronized boolean remove(String courseId) {
+        Integer slot = slotById.remove(courseId);
+        if (slot == null) {
+            return false;
+        }
+        Index current = index;
+        Postings[] bySkill = current.bySkill().clone();
+        for (int skillId : current.slots()[slot].skillIds()) {
+            bySkill[skillId] = replace(bySkill[skillId], slot, -1, 0);
+        }
+        publish(new Index(current.slots(), current.size(), bySkill, current.live() - 1));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${app.courses.reload-interval-ms:30000}",
+               initialDelayString = "${app.courses.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(location);
+        long lastModified = lastModified(resource);
+        if (lastModified <= 0 || lastModified == loadedLastModified) {
+            return;
+        }
+        // Remember this version even if it fails, so it is not parsed again every interval
+        loadedLastModified = lastModified;
+        List<Course> courses;
+        try {
+            courses = read(resource);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Course catalog reload from {} failed, keeping the previous one: {}", location,
+                    e.getMessage());
+            return;
+        }
+
+        synchronized (this) {
+            Set<String> removed = new HashSet<>(slotById.keySet());
+            int changed = 0;
+            for (Course course : courses) {
+                removed.remove(course.id());
+                Integer slot = slotById.get(course.id());
+                if (slot == null || !course.equals(index.slots()[slot])) {
+                    upsert(course);
+                    changed++;
+                }
+            }
+            for (String courseId : removed) {
+                remove(courseId);
+            }
+            logger.info("Reloaded course catalog from {}: {} added or changed, {} removed", location, changed,
+                    removed.size());
+        }
+    }
+
+    /**
+     * Swap in a new index, first compacting it if replaced and removed courses have
+     * come to outnumber live ones
+     */
+    private void publish(Index next) {
+        index = next;
+        if (next.size() > 64 && next.size() > 2 * next.live()) {
+            List<Course> live = new ArrayList<>(next.live());
+            for (int slot : new TreeSet<>(slotById.values())) {
+                live.add(next.slots()[slot]);
+            }
+            rebuild(live);
+        }
+    }
+
+    private void rebuild(List<Course> courses) {
+        slotById.clear();
+        Course[] slots = new Course[Math.max(16, courses.size())];
+        Map<Integer, List<Integer>> slotsBySkill = new HashMap<>();
+        int maxId = -1;
+        for (int slot = 0; slot < courses.size(); slot++) {
+            Course course = courses.get(slot);
+            slotById.put(course.id(), slot);
+            slots[slot] = course;
+            for (int skillId : course.skillIds()) {
+                slotsBySkill.computeIfAbsent(skillId, id -> new ArrayList<>()).add(slot);
+            }
+            maxId = Math.max(maxId, maxId(course.skillIds()));
+        }
+
+        Postings[] bySkill = new Postings[maxId + 1];
+        slotsBySkill.forEach((skillId, courseSlots) -> {
+            int[] postingSlots = new int[courseSlots.size()];
+            float[] scores = new float[courseSlots.size()];
+            for (int i = 0; i < postingSlots.length; i++) {
+                postingSlots[i] = courseSlots.get(i);
+                scores[i] = score(slots[postingSlots[i]]);
+            }
+            bySkill[skillId] = new Postings(postingSlots, scores);
+        });
+        index = new Index(slots, courses.size(), bySkill, courses.size());
+    }
+
+    /**
+     * A copy of the postings without oldSlot and, when newSlot is not -1, with it added
+     */
+    private static Postings replace(Postings postings, Integer oldSlot, int newSlot, float score) {
+        int[] slots = postings != null ? postings.slots() : NO_SLOTS;
+        float[] scores = postings != null ? postings.scores() : NO_SCORES;
+        int[] nextSlots = new int[slots.length + 1];
+        float[] nextScores = new float[slots.length + 1];
+        int n = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (oldSlot == null || slots[i] != oldSlot) {
+                nextSlots[n] = slots[i];
+                nextScores[n++] = scores[i];
+            }
+        }
+        if (newSlot != -1) {
+            nextSlots[n] = newSlot;
+            nextScores[n++] = score;
+        }
+        return n == 0 ? null : new Postings(Arrays.copyOf(nextSlots, n), Arrays.copyOf(nextScores, n));
+    }
+
+    private static float score(Course course) {
+        return (float) (course.rating() / Math.sqrt(course.skillIds().size()));
+    }
+
+    private static boolean better(int a, int b, float[] totals) {
+        return totals[a] > totals[b] || (totals[a] == totals[b] && a < b);
+    }
+
+    private static void siftUp(int[] heap, int i, float[] totals) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(heap[parent], heap[i], totals)) {
+                break;
+            }
+            swap(heap, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, float[] totals) {
+        int i = 0;
+        while (true) {
+            int weakest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < size && better(heap[weakest], heap[left], totals)) {
+                weakest = left;
+            }
+            if (right < size && better(heap[weakest], heap[right], totals)) {
+                weakest = right;
+            }
+            if (weakest == i) {
+                return;
+            }
+            swap(heap, i, weakest);
+            i = weakest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int t = heap[i];
+        heap[i] = heap[j];
+        heap[j] = t;
+    }
+
+    private static int maxId(List<Integer> ids) {
+        int max = -1;
+        for (int id : ids) {
+            max = Math.max(max, id);
+        }
+        return max;
+    }
+
+    private List<Course> read(Resource resource) throws IOException {
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return parse(reader, taxonomyService.getTaxonomy());
+        }
+    }
+
+    static List<Course> parse(Reader source, SkillTaxonomy taxonomy) throws IOException {
+        List<Course> courses = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            if (parts.length < 6) {
+                throw new IllegalArgumentException("Line " + lineNumber
+                        + ": expected id,title,platform,duration,rating,skill[,skill...]");
+            }
+            String id = parts[0].strip();
+            if (!ids.add(id)) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": duplicate course id '" + id + "'");
+            }
+            double rating;
+            try {
+                rating = Double.parseDouble(parts[4].strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": rating '" + parts[4].strip()
+                        + "' is not a number");
+            }
+            List<Integer> skills = new ArrayList<>(parts.length - 5);
+            for (int i = 5; i < parts.length; i++) {
+                int skillId = taxonomy.lookup(parts[i]);
+                if (skillId == SkillTaxonomy.UNKNOWN) {
+                    throw new IllegalArgumentException("Line " + lineNumber + ": '" + parts[i].strip()
+                            + "' is not in the skill taxonomy");
+                }
+                skills.add(skillId);
+            }
+            courses.add(new Course(id, parts[1].strip(), parts[2].strip(), parts[3].strip(), rating, skills));
+        }
+        return courses;
+    }
+
+    /**
+     * Modification time of a file catalog, 0 when it cannot change (inside a jar)
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.OutboxEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends outbox events to a local file, one JSON object per line, and syncs the file
+ * before acknowledging the batch.
+ *
+ * The bean always exists and app.outbox.file-sink.enabled is checked per batch rather
+ * than by a bean condition, which an AOT-processed build (-Pfaststart) would fix at
+ * build time. A disabled sink accepts every batch without writing it.
+ */
+@Component
+public class FileOutboxSink implements OutboxSink {
+
+    @Value("${app.outbox.file-sink.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.file-sink.path:${java.io.tmpdir}/careeros-outbox.jsonl}")
+    private String path;
+
+    private final ObjectMapper objectMapper;
+
+    public FileOutboxSink(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxEvent> events) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        ByteArrayOutputStream lines = new ByteArrayOutputStream(events.size() * 256);
+        for (OutboxEvent event : events) {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("id", event.getId());
+            line.put("aggregateType", event.getAggregateType());
+            line.put("aggregateId", event.getAggregateId());
+            line.put("type", event.getEventType());
+            line.put("createdAt", event.getCreatedAt().toString());
+            line.set("payload", objectMapper.readTree(event.getPayloadJson()));
+            objectMapper.writeValue(lines, line);
+            lines.write('\n');
+        }
+
+        Path file = Path.of(path);
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
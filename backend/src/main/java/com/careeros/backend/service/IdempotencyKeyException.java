@@ -0,0 +1,20 @@
+package com.careeros.backend.service;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * An Idempotency-Key was reused for a different request, or the request that first
+ * used it is still running after the wait limit.
+ */
+public class IdempotencyKeyException extends RuntimeException {
+    private final HttpStatus status;
+
+    public IdempotencyKeyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+}
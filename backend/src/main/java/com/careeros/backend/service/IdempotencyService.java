@@ -0,0 +1,130 @@
+package com.careeros.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the results of POSTs sent with an Idempotency-Key header, so a client
+ * retrying the same request gets the stored result instead of a second analysis.
+ *
+ * Keys are scoped to the user and the operation, and remember a hash of the request
+ * they were first used with: reusing a key for a different request is rejected with
+ * 422. A duplicate that arrives while the first request is still running waits for
+ * its result, up to ai.idempotency.max-wait-ms, and then gets 409. Failures are not
+ * stored.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+    @Value("${ai.idempotency.ttl-ms:600000}")
+    private long ttlMs;
+
+    @Value("${ai.idempotency.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${ai.idempotency.max-wait-ms:30000}")
+    private long maxWaitMs;
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(CompletableFuture<Object> result, byte[] requestHash, long createdAt) {}
+
+    public record Result<T>(T value, boolean replayed) {}
+
+    public IdempotencyService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Run the call, or return the stored result of the request that first used this key
+     *
+     * @param request the request as the call will see it, compared by its JSON form
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Result<T> execute(Long userId, String operation, String idempotencyKey, Object request,
+                                 Supplier<T> call) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return new Result<>(call.get(), false);
+        }
+        if (idempotencyKey.length() > 255) {
+            throw new IllegalArgumentException("Idempotency-Key must be at most 255 characters");
+        }
+
+        String key = userId + ":" + operation + ":" + idempotencyKey;
+        byte[] requestHash = hash(request);
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        Entry existing = entries.putIfAbsent(key, new Entry(mine, requestHash, System.currentTimeMillis()));
+        if (existing != null) {
+            if (!Arrays.equals(existing.requestHash(), requestHash)) {
+                throw new IdempotencyKeyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request");
+            }
+            return new Result<>((T) await(existing.result()), true);
+        }
+
+        try {
+            T value = call.get();
+            mine.complete(value);
+            if (entries.size() > maxEntries) {
+                logger.warn("Idempotency store is over {} entries, not keeping result for {}", maxEntries, operation);
+                entries.remove(key);
+            }
+            return new Result<>(value, false);
+        } catch (RuntimeException e) {
+            entries.remove(key);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ai.idempotency.cleanup-interval-ms:60000}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        entries.values().removeIf(entry -> entry.createdAt() < cutoff && entry.result().isDone());
+    }
+
+    private byte[] hash(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot hash request for idempotency check", e);
+        }
+    }
+
+    private Object await(CompletableFuture<Object> result) {
+        try {
+            return result.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyException(HttpStatus.CONFLICT,
+                    "A request with this Idempotency-Key is still in progress");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the original request");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.MarketTrendSnapshot;
+import com.careeros.backend.repository.MarketTrendSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Market trends per region, served from an immutable in-memory snapshot.
+ *
+ * Trends change a few times a day and are the same for everyone in a region, so they
+ * are fetched from the AI service on a schedule rather than per request. Each refresh
+ * builds a new snapshot and swaps it in with one volatile write; readers never block
+ * and never see a half-built snapshot. The snapshot is also written to the
+ * market_trends table and read back on startup, before the readiness probe reports UP.
+ */
+@Service
+@Order(1)
+public class MarketTrendsService implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(MarketTrendsService.class);
+
+    /** Region for locations that match no configured region */
+    public static final String GLOBAL = "global";
+
+    private static final TypeReference<Map<String, Object>> TRENDS_TYPE = new TypeReference<>() {};
+
+    private static final Pattern WORD_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    @Value("${app.market-trends.max-age-ms:21600000}")
+    private long maxAgeMs;
+
+    private final AIService aiService;
+
+    private final MarketTrendSnapshotRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    /** Longest first, so "new york" wins over "york" */
+    private final List<String> regions;
+
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), null);
+
+    public MarketTrendsService(AIService aiService, MarketTrendSnapshotRepository repository, ObjectMapper objectMapper,
+                               @Value("${app.market-trends.regions:global}") List<String> regions) {
+        this.aiService = aiService;
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        List<String> normalized = new ArrayList<>();
+        for (String region : regions) {
+            String name = region.strip().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty() && !normalized.contains(name)) {
+                normalized.add(name);
+            }
+        }
+        if (!normalized.contains(GLOBAL)) {
+            normalized.add(GLOBAL);
+        }
+        normalized.sort(Comparator.comparingInt(String::length).reversed());
+        this.regions = List.copyOf(normalized);
+    }
+
+    /**
+     * Trends by region and when every region was last refreshed successfully (null
+     * until that has happened once)
+     */
+    public record Snapshot(Map<String, Map<String, Object>> trendsByRegion, LocalDateTime refreshedAt) {}
+
+    /**
+     * Load the persisted snapshot so trends are available straight after a restart
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            Map<String, Map<String, Object>> trends = new HashMap<>();
+            LocalDateTime oldest = null;
+            for (MarketTrendSnapshot row : repository.findAll()) {
+                if (!regions.contains(row.getRegion())) {
+                    continue;
+                }
+                trends.put(row.getRegion(), Collections.unmodifiableMap(objectMapper.readValue(row.getTrendsJson(), TRENDS_TYPE)));
+                if (oldest == null || row.getRefreshedAt().isBefore(oldest)) {
+                    oldest = row.getRefreshedAt();
+                }
+            }
+            snapshot = new Snapshot(Map.copyOf(trends), trends.keySet().containsAll(regions) ? oldest : null);
+            logger.info("Loaded persisted market trends for {} of {} regions", trends.size(), regions.size());
+        } catch (Exception e) {
+            logger.warn("Starting without persisted market trends: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Trends for the region a request's location falls in, or null when the snapshot
+     * has none yet
+     */
+    public Map<String, Object> trendsFor(String location) {
+        Map<String, Map<String, Object>> trends = snapshot.trendsByRegion();
+        Map<String, Object> regional = trends.get(regionFor(location));
+        return regional != null ? regional : trends.get(GLOBAL);
+    }
+
+    /**
+     * The first configured region named in the location as whole words, or "global".
+     * "Londonderry" is not in london, nor "New Yorker Street" in new york.
+     */
+    public String regionFor(String location) {
+        if (location == null || location.isBlank()) {
+            return GLOBAL;
+        }
+        String words = words(location);
+        for (String region : regions) {
+            if (words.contains(words(region))) {
+                return region;
+            }
+        }
+        return GLOBAL;
+    }
+
+    /** Lower-cased words separated and surrounded by single spaces */
+    private static String words(String text) {
+        return " " + WORD_SEPARATORS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll(" ").strip() + " ";
+    }
+
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    @Scheduled(fixedDelayString = "${app.market-trends.check-interval-ms:300000}",
+            initialDelayString = "${app.market-trends.initial-delay-ms:10000}")
+    public void refreshIfStale() {
+        LocalDateTime refreshedAt = snapshot.refreshedAt();
+        if (refreshedAt != null && Duration.between(refreshedAt, LocalDateTime.now()).toMillis() < maxAgeMs) {
+            return;
+        }
+        refresh();
+    }
+
+    /**
+     * Fetch every region, swap in the new snapshot and persist it. A region that fails
+     * keeps its previous trends, and the snapshot stays stale so the next check retries.
+     */
+    public synchronized void refresh() {
+        Snapshot current = snapshot;
+        Map<String, Map<String, Object>> trends = new HashMap<>(current.trendsByRegion());
+        List<MarketTrendSnapshot> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (String region : regions) {
+            try {
+                Map<String, Object> regional = aiService.getMarketTrends(region);
+                if (regional == null) {
+                    continue;
+                }
+                trends.put(region, Collections.unmodifiableMap(new LinkedHashMap<>(regional)));
+                rows.add(new MarketTrendSnapshot(region, objectMapper.writeValueAsString(regional), now));
+            } catch (RuntimeException | JsonProcessingException e) {
+                logger.warn("Could not refresh market trends for region '{}': {}", region, e.getMessage());
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        snapshot = new Snapshot(Map.copyOf(trends), rows.size() == regions.size() ? now : current.refreshedAt());
+        logger.info("Refreshed market trends for {} of {} regions", rows.size(), regions.size());
+
+        try {
+            repository.saveAll(rows);
+        } catch (RuntimeException e) {
+            logger.warn("Could not persist market trends: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.OutboxEvent;
+import com.careeros.backend.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drains the outbox_events table to the OutboxSink beans in batches.
+ *
+ * Batches are read oldest first and offered to every sink in turn; only when all of
+ * them accept it is the batch deleted. If a sink fails, the relay stops and the same
+ * batch is offered again at the next poll, so events are delivered at least once.
+ *
+ * Ids come from a sequence, which hands them out at insert, not at commit: a
+ * transaction that commits late can make a lower id visible after a higher one has
+ * been relayed. The relay therefore leaves events alone until they are
+ * app.outbox.settle-ms old. Events whose transactions commit within that time are
+ * delivered in id order; one that took longer is still delivered, after later ones.
+ *
+ * Every instance runs the relay. On Postgres each batch is read, delivered and
+ * deleted in one transaction holding pg_try_advisory_xact_lock, so only one instance
+ * relays at a time and the next batch is read only after the last one is gone; the
+ * others skip the poll. Other databases (H2) have no such lock and are assumed to
+ * serve a single instance.
+ */
+@Service
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+    /** Arbitrary, shared by every instance: pg_try_advisory_xact_lock key for a relay batch */
+    private static final long POSTGRES_LOCK_KEY = 0x6f7574626f78L;
+
+    /** relayBatch result when another instance holds the lock or a sink failed */
+    private static final int NOT_DELIVERED = -1;
+
+    @Value("${app.outbox.relay.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.outbox.settle-ms:5000}")
+    private long settleMs;
+
+    @Value("${app.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.outbox.max-batches-per-poll:50}")
+    private int maxBatchesPerPoll;
+
+    private final OutboxEventRepository repository;
+
+    private final List<OutboxSink> sinks;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Counter delivered;
+
+    private volatile Boolean postgres;
+
+    public OutboxRelay(OutboxEventRepository repository, List<OutboxSink> sinks, JdbcTemplate jdbcTemplate,
+                       TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.sinks = sinks;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.meterRegistry = meterRegistry;
+        this.delivered = Counter.builder("outbox.events.delivered")
+                .description("Outbox events accepted by every sink and removed from the outbox")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}",
+            initialDelayString = "${app.outbox.initial-delay-ms:5000}")
+    public void poll() {
+        if (enabled) {
+            relay();
+        }
+    }
+
+    /**
+     * Deliver settled events until none are left, a sink fails, another instance is
+     * relaying or the per-poll batch limit is reached
+     *
+     * @return the number of events delivered
+     */
+    public synchronized int relay() {
+        int count = 0;
+        for (int batches = 0; batches < maxBatchesPerPoll; batches++) {
+            Integer relayed = transactionTemplate.execute(status -> relayBatch());
+            if (relayed == null || relayed <= 0) {
+                break;
+            }
+            count += relayed;
+            if (relayed < batchSize) {
+                break;
+            }
+        }
+        if (count > 0) {
+            logger.debug("Relayed {} outbox events to {} sinks", count, sinks.size());
+        }
+        return count;
+    }
+
+    /** One batch, inside the caller's transaction: lock, read, publish, delete */
+    private int relayBatch() {
+        if (isPostgres() && !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, POSTGRES_LOCK_KEY))) {
+            logger.debug("Outbox is being relayed by another instance");
+            return NOT_DELIVERED;
+        }
+        List<OutboxEvent> batch = repository.findByCreatedAtBeforeOrderByIdAsc(
+                LocalDateTime.now().minusNanos(settleMs * 1_000_000), PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        for (OutboxSink sink : sinks) {
+            try {
+                sink.publish(batch);
+            } catch (Exception e) {
+                meterRegistry.counter("outbox.sink.failures", "sink", sink.name()).increment();
+                logger.warn("Outbox sink {} failed, retrying {} events from id {} at the next poll: {}",
+                        sink.name(), batch.size(), batch.get(0).getId(), e.getMessage());
+                return NOT_DELIVERED;
+            }
+        }
+
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            ids.add(event.getId());
+        }
+        repository.deleteAllByIdInBatch(ids);
+        delivered.increment(batch.size());
+        return batch.size();
+    }
+
+    /** Checked on first use, not at startup, so the context can start without a database */
+    private boolean isPostgres() {
+        Boolean result = postgres;
+        if (result == null) {
+            result = "PostgreSQL".equals(jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName()));
+            postgres = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,50 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.OutboxEvent;
+import com.careeros.backend.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Records domain events in the outbox_events table for OutboxRelay to deliver.
+ *
+ * Recording joins the caller's transaction, so an event is stored if and only if the
+ * change it describes commits. The request path pays for one insert however many
+ * sinks consume the event.
+ */
+@Service
+public class OutboxService {
+
+    public static final String USER = "user";
+    public static final String ANALYSIS = "analysis";
+
+    public static final String USER_REGISTERED = "user.registered";
+    public static final String ANALYSIS_COMPLETED = "analysis.completed";
+
+    private final OutboxEventRepository repository;
+
+    private final ObjectMapper objectMapper;
+
+    public OutboxService(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    @Transactional
+    public void record(String aggregateType, Object aggregateId, String eventType, Map<String, Object> payload) {
+        String payloadJson;
+        try {
+            payloadJson = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Outbox payload for " + eventType + " is not serializable: "
+                    + e.getOriginalMessage(), e);
+        }
+        repository.save(new OutboxEvent(aggregateType, String.valueOf(aggregateId), eventType, payloadJson,
+                LocalDateTime.now()));
+    }
+}
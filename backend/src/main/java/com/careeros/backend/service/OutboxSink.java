@@ -0,0 +1,23 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * A destination for outbox events. Every sink bean receives every event, in id order.
+ *
+ * Delivery is at least once: a batch is offered again until every sink has accepted
+ * it, so a sink may see events it already handled and should skip ids it has seen.
+ */
+public interface OutboxSink {
+
+    /** Name for logs and metrics */
+    String name();
+
+    /**
+     * Deliver the batch in order. Return only once it is durable on the sink's side;
+     * throwing makes the relay offer the same batch again later.
+     */
+    void publish(List<OutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,178 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.RateLimitProperties;
+import com.careeros.backend.model.Role;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user token buckets for the AI endpoints.
+ *
+ * Each bucket is a single AtomicLong holding the bucket's "theoretical arrival time"
+ * (the GCRA form of a token bucket), so acquiring a token is one CAS and never locks.
+ * The limit is looked up from the user's current roles on every request; when it
+ * changes, the bucket is replaced by one with the new limit.
+ */
+@Service
+public class RateLimiterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiterService.class);
+
+    private final RateLimitProperties properties;
+
+    private final ConcurrentHashMap<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiterService(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    public record Decision(boolean allowed, int limit, int remaining, long resetSeconds, long retryAfterSeconds) {}
+
+    /**
+     * Take one token from the user's bucket
+     */
+    public Decision tryAcquire(Long userId, Collection<? extends GrantedAuthority> authorities) {
+        return tryAcquire(userId, authorities, System.nanoTime());
+    }
+
+    Decision tryAcquire(Long userId, Collection<? extends GrantedAuthority> authorities, long now) {
+        if (!properties.isEnabled()) {
+            return new Decision(true, Integer.MAX_VALUE, Integer.MAX_VALUE, 0, 0);
+        }
+        RateLimitProperties.Limit limit = limitFor(authorities);
+        while (true) {
+            Bucket bucket = buckets.get(userId);
+            if (bucket == null || bucket.limit != limit) {
+                // New user, evicted bucket or changed role: the replacement owes the old bucket's tokens
+                bucket = buckets.compute(userId, (id, current) -> current == null
+                        ? new Bucket(limit, now)
+                        : current.limit == limit && !current.isRetired() ? current : current.replaceWith(limit, now));
+            }
+            Decision decision = bucket.tryAcquire(now);
+            if (decision != null) {
+                return decision;
+            }
+            // Retired by eviction after we looked it up
+            buckets.remove(userId, bucket);
+        }
+    }
+
+    /**
+     * Drop buckets that have been idle long enough to be full again
+     */
+    @Scheduled(fixedDelayString = "${ai.rate-limit.idle-eviction-ms:300000}")
+    public void evictIdleBuckets() {
+        evictIdleBuckets(System.nanoTime());
+    }
+
+    void evictIdleBuckets(long now) {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictionMs());
+        int evicted = 0;
+        for (Map.Entry<Long, Bucket> entry : buckets.entrySet()) {
+            // Retire first, so a request that already holds the bucket cannot take a token from it
+            if (entry.getValue().retireIfIdle(now, idleNanos) && buckets.remove(entry.getKey(), entry.getValue())) {
+                evicted++;
+            }
+        }
+        if (evicted > 0) {
+            logger.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private RateLimitProperties.Limit limitFor(Collection<? extends GrantedAuthority> authorities) {
+        RateLimitProperties.Limit best = null;
+        for (GrantedAuthority authority : authorities) {
+            RateLimitProperties.Limit limit = roleLimit(authority.getAuthority());
+            if (limit != null && (best == null || limit.getRequestsPerMinute() > best.getRequestsPerMinute())) {
+                best = limit;
+            }
+        }
+        return best != null ? best : properties.getDefaultLimit();
+    }
+
+    private RateLimitProperties.Limit roleLimit(String authority) {
+        try {
+            return properties.getRoles().get(Role.valueOf(authority));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * GCRA state for one user. Once retired (evicted or replaced) it never grants
+     * another token, and tryAcquire returns null so the caller looks the user up again.
+     */
+    private static final class Bucket {
+        private static final long RETIRED = Long.MIN_VALUE;
+
+        private final RateLimitProperties.Limit limit;
+        private final int capacity;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final AtomicLong theoreticalArrival;
+
+        Bucket(RateLimitProperties.Limit limit, long theoreticalArrival) {
+            this.limit = limit;
+            this.capacity = Math.max(1, limit.getCapacity());
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(1, limit.getRequestsPerMinute());
+            this.burstNanos = intervalNanos * capacity;
+            this.theoreticalArrival = new AtomicLong(theoreticalArrival);
+        }
+
+        Decision tryAcquire(long now) {
+            while (true) {
+                long current = theoreticalArrival.get();
+                if (current == RETIRED) {
+                    return null;
+                }
+                long base = current - now > 0 ? current : now;
+                long next = base + intervalNanos;
+                long backlog = next - now;
+                if (backlog > burstNanos) {
+                    long retryAfter = backlog - burstNanos;
+                    return new Decision(false, capacity, 0, toSeconds(base - now), toSeconds(retryAfter));
+                }
+                if (theoreticalArrival.compareAndSet(current, next)) {
+                    int remaining = (int) ((burstNanos - backlog) / intervalNanos);
+                    return new Decision(true, capacity, remaining, toSeconds(backlog), 0);
+                }
+            }
+        }
+
+        boolean isRetired() {
+            return theoreticalArrival.get() == RETIRED;
+        }
+
+        /**
+         * Retire this bucket and return one with the new limit that owes the same number
+         * of tokens
+         */
+        Bucket replaceWith(RateLimitProperties.Limit newLimit, long now) {
+            long current = theoreticalArrival.getAndSet(RETIRED);
+            Bucket replacement = new Bucket(newLimit, now);
+            if (current != RETIRED && current - now > 0) {
+                double owed = (double) (current - now) / intervalNanos;
+                replacement.theoreticalArrival.set(now + (long) (owed * replacement.intervalNanos));
+            }
+            return replacement;
+        }
+
+        boolean retireIfIdle(long now, long idleNanos) {
+            long current = theoreticalArrival.get();
+            return current != RETIRED && now - current > idleNanos && theoreticalArrival.compareAndSet(current, RETIRED);
+        }
+
+        private static long toSeconds(long nanos) {
+            return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        }
+    }
+}
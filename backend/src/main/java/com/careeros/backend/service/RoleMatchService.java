@@ -0,0 +1,237 @@
+package com.careeros.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.zip.CRC32;
+
+/**
+ * Candidate roles for a user, found locally in an HNSW index of role embeddings.
+ *
+ * A profile's embedding is the sum of one vector per skill plus, at a lower weight,
+ * one per interest or field. Until learned skill vectors are available each skill gets
+ * a fixed pseudo-random Gaussian vector, which makes the cosine of two embeddings a
+ * random-projection estimate of how much the two profiles overlap.
+ *
+ * The index is built from the roles file the first time and written to
+ * app.roles.vector-index.path; later startups map that file instead of rebuilding the
+ * graph, as long as it was built from the same roles, resolved to the same skill ids,
+ * and the same settings. A taxonomy reload that changes how the roles resolve
+ * rebuilds it.
+ */
+@Service
+public class RoleMatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoleMatchService.class);
+
+    /** Bump when embed or the fingerprint changes, so indexes built by the old version are rebuilt */
+    private static final int EMBEDDING_VERSION = 2;
+
+    private static final long SKILL_VECTOR_SEED = 0x5eed_c0deL;
+
+    private static final float INTEREST_WEIGHT = 0.5f;
+
+    @Value("${app.roles.vector-index.roles-location:classpath:taxonomy/roles.csv}")
+    private String rolesLocation;
+
+    @Value("${app.roles.vector-index.path:${java.io.tmpdir}/careeros-role-index.bin}")
+    private String indexPath;
+
+    @Value("${app.roles.vector-index.dimensions:64}")
+    private int dimensions;
+
+    @Value("${app.roles.vector-index.m:16}")
+    private int m;
+
+    @Value("${app.roles.vector-index.ef-construction:100}")
+    private int efConstruction;
+
+    @Value("${app.roles.vector-index.ef-search:64}")
+    private int efSearch;
+
+    @Value("${app.roles.vector-index.candidates:3}")
+    private int candidates;
+
+    private final SkillTaxonomyService taxonomyService;
+
+    private final ResourceLoader resourceLoader;
+
+    private volatile RoleVectorIndex index;
+
+    /** Vectors of the skills in the taxonomy at startup; later ids are generated on use */
+    private volatile float[][] skillVectors = new float[0][];
+
+    public RoleMatchService(SkillTaxonomyService taxonomyService, ResourceLoader resourceLoader) {
+        this.taxonomyService = taxonomyService;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        index = openOrBuild(taxonomyService.getTaxonomy());
+        taxonomyService.addReloadListener(this::reload);
+    }
+
+    /**
+     * Resolve the roles against a reloaded taxonomy, rebuilding the index if any of
+     * them now resolves differently; if they no longer resolve, the current index stays
+     */
+    void reload(SkillTaxonomy taxonomy) {
+        try {
+            index = openOrBuild(taxonomy);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Roles from {} do not resolve against the reloaded skill taxonomy, keeping the "
+                    + "previous role index: {}", rolesLocation, e.getMessage());
+        }
+    }
+
+    private RoleVectorIndex openOrBuild(SkillTaxonomy taxonomy) throws IOException {
+        List<SkillGapEngine.RoleProfile> profiles;
+        try (Reader reader = new InputStreamReader(resourceLoader.getResource(rolesLocation).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            profiles = SkillGapEngine.parseProfiles(reader, taxonomy);
+        }
+        float[][] table = new float[taxonomy.idLimit()][];
+        for (int id = 0; id < table.length; id++) {
+            table[id] = skillVector(id);
+        }
+        skillVectors = table;
+
+        long fingerprint = fingerprint(profiles);
+        Path path = Path.of(indexPath);
+        if (Files.exists(path)) {
+            try {
+                RoleVectorIndex existing = RoleVectorIndex.open(path);
+                if (existing.fingerprint() == fingerprint) {
+                    logger.info("Mapped role index with {} roles from {}", existing.size(), path);
+                    return existing;
+                }
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Role index {} is unreadable, rebuilding it: {}", path, e.getMessage());
+            }
+        }
+
+        long start = System.nanoTime();
+        List<float[]> vectors = new ArrayList<>(profiles.size());
+        List<String> titles = new ArrayList<>(profiles.size());
+        for (SkillGapEngine.RoleProfile profile : profiles) {
+            vectors.add(embed(profile.skillIds(), profile.fieldId() == SkillTaxonomy.UNKNOWN
+                    ? new int[0] : new int[] {profile.fieldId()}));
+            titles.add(profile.title());
+        }
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        // Written to a temporary file and moved into place, so a mapped older index stays intact
+        RoleVectorIndex.build(path, vectors, titles, m, efConstruction, fingerprint);
+        RoleVectorIndex built = RoleVectorIndex.open(path);
+        logger.info("Built role index with {} roles at {} in {} ms", profiles.size(), path,
+                (System.nanoTime() - start) / 1_000_000);
+        return built;
+    }
+
+    /**
+     * The roles closest to a user's skills and interests, most similar first; none for a
+     * user with neither, whose embedding is all zeros and close to nothing
+     */
+    public List<RoleVectorIndex.Hit> similarRoles(Collection<Integer> skillIds, Collection<Integer> interestIds, int k) {
+        if (skillIds.isEmpty() && interestIds.isEmpty()) {
+            return List.of();
+        }
+        return index.search(embed(toArray(skillIds), toArray(interestIds)), k, efSearch);
+    }
+
+    /**
+     * The configured number of similar roles as recommendation entries
+     */
+    public List<Map<String, Object>> candidateRoles(Collection<Integer> skillIds, Collection<Integer> interestIds) {
+        List<Map<String, Object>> roles = new ArrayList<>(candidates);
+        for (RoleVectorIndex.Hit hit : similarRoles(skillIds, interestIds, candidates)) {
+            Map<String, Object> role = new LinkedHashMap<>();
+            role.put("title", hit.title());
+            role.put("matchScore", Math.round(Math.max(0, hit.similarity()) * 100) / 100.0);
+            role.put("source", "role-index");
+            roles.add(role);
+        }
+        return roles;
+    }
+
+    /**
+     * A profile's embedding, not normalised; fields count like interests
+     */
+    public float[] embed(int[] skillIds, int[] interestIds) {
+        float[] vector = new float[dimensions];
+        for (int id : skillIds) {
+            addSkillVector(vector, id, 1f);
+        }
+        for (int id : interestIds) {
+            addSkillVector(vector, id, INTEREST_WEIGHT);
+        }
+        return vector;
+    }
+
+    private void addSkillVector(float[] vector, int skillId, float weight) {
+        float[][] table = skillVectors;
+        float[] skill = skillId >= 0 && skillId < table.length ? table[skillId] : skillVector(skillId);
+        for (int d = 0; d < vector.length; d++) {
+            vector[d] += weight * skill[d];
+        }
+    }
+
+    private float[] skillVector(int skillId) {
+        SplittableRandom random = new SplittableRandom(SKILL_VECTOR_SEED + skillId);
+        float[] skill = new float[dimensions];
+        for (int d = 0; d < dimensions; d++) {
+            skill[d] = (float) random.nextGaussian();
+        }
+        return skill;
+    }
+
+    /**
+     * Covers the roles as resolved against the taxonomy, not the roles file's bytes: a
+     * taxonomy change can map the same line to other skill ids
+     */
+    private long fingerprint(List<SkillGapEngine.RoleProfile> profiles) {
+        CRC32 crc = new CRC32();
+        for (SkillGapEngine.RoleProfile profile : profiles) {
+            crc.update(profile.title().getBytes(StandardCharsets.UTF_8));
+            updateInt(crc, profile.fieldId());
+            updateInt(crc, profile.skillIds().length);
+            for (int id : profile.skillIds()) {
+                updateInt(crc, id);
+            }
+        }
+        return crc.getValue() ^ ((long) EMBEDDING_VERSION << 32) ^ ((long) dimensions << 40)
+                ^ ((long) m << 48) ^ ((long) efConstruction << 56);
+    }
+
+    private static void updateInt(CRC32 crc, int value) {
+        crc.update(value >>> 24);
+        crc.update(value >>> 16);
+        crc.update(value >>> 8);
+        crc.update(value);
+    }
+
+    private static int[] toArray(Collection<Integer> ids) {
+        int[] array = new int[ids.size()];
+        int i = 0;
+        for (int id : ids) {
+            array[i++] = id;
+        }
+        return array;
+    }
+}
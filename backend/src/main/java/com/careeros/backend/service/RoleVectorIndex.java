@@ -0,0 +1,572 @@
+package com.careeros.backend.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+
+/**
+ * Approximate nearest-neighbour index over role embeddings: an HNSW graph whose
+ * vectors and links live in a memory-mapped file.
+ *
+ * Building the graph is the expensive part, so it happens once and is written out
+ * with the vectors; opening an index only maps the file and reads the titles. The
+ * mapping is read-only and shared by all searches, and nothing about it is on the
+ * Java heap apart from one offset per role for the upper layers.
+ *
+ * Vectors are L2-normalised when the index is built, so similarity is a dot product.
+ * Layer 0 keeps up to 2M links per role and the upper layers up to M.
+ *
+ * File layout, little-endian: header (magic, version, count, dim, m, entry point,
+ * top level, source fingerprint), one level per role, the vectors, layer-0 links,
+ * upper-layer links role by role, then the titles as length-prefixed UTF-8.
+ */
+public final class RoleVectorIndex {
+
+    private static final int MAGIC = 0x43525649;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 7 * Integer.BYTES + Long.BYTES;
+
+    private final int count;
+
+    private final int dim;
+
+    private final int m;
+
+    private final int entryPoint;
+
+    private final int topLevel;
+
+    private final long fingerprint;
+
+    private final byte[] levels;
+
+    private final FloatBuffer vectors;
+
+    private final IntBuffer layer0;
+
+    private final IntBuffer upper;
+
+    /** Start of each role's upper-layer links in upper */
+    private final int[] upperOffsets;
+
+    private final String[] titles;
+
+    /** One search result: the role's position in the index and its cosine similarity */
+    public record Hit(int role, String title, float similarity) {}
+
+    private RoleVectorIndex(ByteBuffer file) {
+        file.order(ByteOrder.LITTLE_ENDIAN);
+        if (file.getInt(0) != MAGIC || file.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Not a role vector index, or an unsupported version");
+        }
+        count = file.getInt(8);
+        dim = file.getInt(12);
+        m = file.getInt(16);
+        entryPoint = file.getInt(20);
+        topLevel = file.getInt(24);
+        fingerprint = file.getLong(28);
+
+        int position = HEADER_BYTES;
+        levels = new byte[count];
+        file.get(position, levels);
+        position += align(count);
+
+        vectors = file.slice(position, count * dim * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+        position += count * dim * Float.BYTES;
+
+        layer0 = file.slice(position, count * 2 * m * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        position += count * 2 * m * Integer.BYTES;
+
+        upperOffsets = new int[count];
+        int upperInts = 0;
+        for (int role = 0; role < count; role++) {
+            upperOffsets[role] = upperInts;
+            upperInts += levels[role] * m;
+        }
+        upper = file.slice(position, upperInts * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        position += upperInts * Integer.BYTES;
+
+        titles = new String[count];
+        for (int role = 0; role < count; role++) {
+            int length = file.getInt(position);
+            byte[] bytes = new byte[length];
+            file.get(position + Integer.BYTES, bytes);
+            titles[role] = new String(bytes, StandardCharsets.UTF_8);
+            position += Integer.BYTES + length;
+        }
+    }
+
+    /**
+     * Map an index file written by build
+     */
+    public static RoleVectorIndex open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new RoleVectorIndex(file);
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int dimensions() {
+        return dim;
+    }
+
+    /** Fingerprint of the data the index was built from, as passed to build */
+    public long fingerprint() {
+        return fingerprint;
+    }
+
+    public String title(int role) {
+        return titles[role];
+    }
+
+    /**
+     * The k roles most similar to the query, best first. ef is the size of the
+     * candidate list on layer 0: larger is slower and finds more of the true top k.
+     */
+    public List<Hit> search(float[] query, int k, int ef) {
+        if (count == 0 || k <= 0) {
+            return List.of();
+        }
+        float[] q = normalized(query);
+        int current = entryPoint;
+        float currentSimilarity = similarity(q, current);
+        for (int level = topLevel; level > 0; level--) {
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                int base = upperBase(current, level);
+                for (int i = 0; i < m; i++) {
+                    int neighbour = upper.get(base + i);
+                    if (neighbour < 0) {
+                        break;
+                    }
+                    float s = similarity(q, neighbour);
+                    if (s > currentSimilarity) {
+                        current = neighbour;
+                        currentSimilarity = s;
+                        improved = true;
+                    }
+                }
+            }
+        }
+
+        return hits(searchLayer0(q, current, Math.max(ef, k)), k);
+    }
+
+    /**
+     * The exact top k by scanning every vector; the baseline that search approximates
+     */
+    public List<Hit> exactSearch(float[] query, int k) {
+        if (count == 0 || k <= 0) {
+            return List.of();
+        }
+        float[] q = normalized(query);
+        PriorityQueue<Long> results = new PriorityQueue<>(k + 1);
+        for (int role = 0; role < count; role++) {
+            long entry = entry(similarity(q, role), role);
+            if (results.size() < k) {
+                results.add(entry);
+            } else if (entry > results.peek()) {
+                results.poll();
+                results.add(entry);
+            }
+        }
+        return hits(results, k);
+    }
+
+    private PriorityQueue<Long> searchLayer0(float[] q, int start, int ef) {
+        BitSet visited = new BitSet(count);
+        // Weakest result on top, so it can be replaced; best candidate on top, so it is expanded next
+        PriorityQueue<Long> results = new PriorityQueue<>(ef + 1);
+        PriorityQueue<Long> candidates = new PriorityQueue<>(Comparator.reverseOrder());
+        long first = entry(similarity(q, start), start);
+        visited.set(start);
+        results.add(first);
+        candidates.add(first);
+
+        while (!candidates.isEmpty()) {
+            long candidate = candidates.poll();
+            if (results.size() >= ef && candidate < results.peek()) {
+                break;
+            }
+            int base = roleOf(candidate) * 2 * m;
+            for (int i = 0; i < 2 * m; i++) {
+                int neighbour = layer0.get(base + i);
+                if (neighbour < 0) {
+                    break;
+                }
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                long entry = entry(similarity(q, neighbour), neighbour);
+                if (results.size() < ef || entry > results.peek()) {
+                    candidates.add(entry);
+                    results.add(entry);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    private List<Hit> hits(PriorityQueue<Long> results, int k) {
+        while (results.size() > k) {
+            results.poll();
+        }
+        Hit[] hits = new Hit[results.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            long entry = results.poll();
+            hits[i] = new Hit(roleOf(entry), titles[roleOf(entry)], similarityOf(entry));
+        }
+        return Arrays.asList(hits);
+    }
+
+    /**
+     * A similarity and a role packed into one long that orders by similarity, so the
+     * heaps need no per-role score array
+     */
+    private static long entry(float similarity, int role) {
+        int bits = Float.floatToIntBits(similarity);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (role & 0xffffffffL);
+    }
+
+    private static float similarityOf(long entry) {
+        int bits = (int) (entry >> 32);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return Float.intBitsToFloat(bits);
+    }
+
+    private static int roleOf(long entry) {
+        return (int) entry;
+    }
+
+    private float similarity(float[] q, int role) {
+        int base = role * dim;
+        float sum = 0;
+        for (int d = 0; d < dim; d++) {
+            sum += q[d] * vectors.get(base + d);
+        }
+        return sum;
+    }
+
+    private int upperBase(int role, int level) {
+        return upperOffsets[role] + (level - 1) * m;
+    }
+
+    private static Comparator<Integer> byScore(float[] scores) {
+        return (a, b) -> Float.compare(scores[a], scores[b]);
+    }
+
+    /**
+     * Build the HNSW graph for the given vectors and write it to path, replacing any
+     * existing file atomically so that indexes mapped from it stay valid
+     */
+    public static void build(Path path, List<float[]> vectors, List<String> titles, int m, int efConstruction,
+                             long fingerprint) throws IOException {
+        if (vectors.size() != titles.size()) {
+            throw new IllegalArgumentException("Expected one title per vector");
+        }
+        int dim = vectors.isEmpty() ? 0 : vectors.get(0).length;
+        float[][] data = new float[vectors.size()][];
+        for (int i = 0; i < data.length; i++) {
+            if (vectors.get(i).length != dim) {
+                throw new IllegalArgumentException("Vector " + i + " has " + vectors.get(i).length
+                        + " dimensions, expected " + dim);
+            }
+            data[i] = normalized(vectors.get(i));
+        }
+        Graph graph = new Graph(data, m, efConstruction);
+        for (int role = 0; role < data.length; role++) {
+            graph.insert(role);
+        }
+
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            graph.write(new LittleEndianOutput(out), titles, fingerprint);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static float[] normalized(float[] vector) {
+        double norm = 0;
+        for (float v : vector) {
+            norm += v * v;
+        }
+        float[] unit = new float[vector.length];
+        if (norm == 0) {
+            return unit;
+        }
+        float scale = (float) (1 / Math.sqrt(norm));
+        for (int i = 0; i < vector.length; i++) {
+            unit[i] = vector[i] * scale;
+        }
+        return unit;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    /** The graph while it is being built, on the heap */
+    private static final class Graph {
+
+        private final float[][] vectors;
+
+        private final int m;
+
+        private final int efConstruction;
+
+        private final double levelMultiplier;
+
+        private final SplittableRandom random = new SplittableRandom(42);
+
+        private final byte[] levels;
+
+        /** links[role][level], each terminated by -1 when not full */
+        private final int[][][] links;
+
+        /** Similarity to the role being inserted, valid for the roles its current search visited */
+        private final float[] scores;
+
+        private int entryPoint = -1;
+
+        private int topLevel;
+
+        Graph(float[][] vectors, int m, int efConstruction) {
+            this.vectors = vectors;
+            this.m = m;
+            this.efConstruction = efConstruction;
+            this.levelMultiplier = 1 / Math.log(m);
+            this.levels = new byte[vectors.length];
+            this.links = new int[vectors.length][][];
+            this.scores = new float[vectors.length];
+        }
+
+        void insert(int role) {
+            int level = Math.min(15, (int) (-Math.log(1 - random.nextDouble()) * levelMultiplier));
+            levels[role] = (byte) level;
+            links[role] = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                links[role][l] = empty(l == 0 ? 2 * m : m);
+            }
+            if (entryPoint < 0) {
+                entryPoint = role;
+                topLevel = level;
+                return;
+            }
+
+            int current = entryPoint;
+            for (int l = topLevel; l > level; l--) {
+                current = greedy(role, current, l);
+            }
+            for (int l = Math.min(level, topLevel); l >= 0; l--) {
+                List<Integer> nearest = searchLayer(role, current, l);
+                int max = l == 0 ? 2 * m : m;
+                for (int i = 0; i < Math.min(max, nearest.size()); i++) {
+                    int neighbour = nearest.get(i);
+                    links[role][l][i] = neighbour;
+                    link(neighbour, role, l, max);
+                }
+                current = nearest.get(0);
+            }
+            if (level > topLevel) {
+                topLevel = level;
+                entryPoint = role;
+            }
+        }
+
+        private int greedy(int role, int start, int level) {
+            int current = start;
+            float best = dot(vectors[role], vectors[current]);
+            boolean improved = true;
+            while (improved) {
+                improved = false;
+                for (int neighbour : links[current][level]) {
+                    if (neighbour < 0) {
+                        break;
+                    }
+                    float s = dot(vectors[role], vectors[neighbour]);
+                    if (s > best) {
+                        best = s;
+                        current = neighbour;
+                        improved = true;
+                    }
+                }
+            }
+            return current;
+        }
+
+        /** Nearest roles found from start on one level, best first */
+        private List<Integer> searchLayer(int role, int start, int level) {
+            float[] q = vectors[role];
+            BitSet visited = new BitSet(vectors.length);
+            PriorityQueue<Integer> results = new PriorityQueue<>(byScore(scores));
+            PriorityQueue<Integer> candidates = new PriorityQueue<>(byScore(scores).reversed());
+            scores[start] = dot(q, vectors[start]);
+            visited.set(start);
+            results.add(start);
+            candidates.add(start);
+            while (!candidates.isEmpty()) {
+                int candidate = candidates.poll();
+                if (results.size() >= efConstruction && scores[candidate] < scores[results.peek()]) {
+                    break;
+                }
+                for (int neighbour : links[candidate][level]) {
+                    if (neighbour < 0) {
+                        break;
+                    }
+                    if (visited.get(neighbour)) {
+                        continue;
+                    }
+                    visited.set(neighbour);
+                    scores[neighbour] = dot(q, vectors[neighbour]);
+                    if (results.size() < efConstruction || scores[neighbour] > scores[results.peek()]) {
+                        candidates.add(neighbour);
+                        results.add(neighbour);
+                        if (results.size() > efConstruction) {
+                            results.poll();
+                        }
+                    }
+                }
+            }
+            List<Integer> nearest = new ArrayList<>(results);
+            nearest.sort(byScore(scores).reversed());
+            return nearest;
+        }
+
+        /** Add a link from role to neighbour, dropping role's least similar link when full */
+        private void link(int role, int neighbour, int level, int max) {
+            int[] list = links[role][level];
+            for (int i = 0; i < max; i++) {
+                if (list[i] < 0) {
+                    list[i] = neighbour;
+                    return;
+                }
+            }
+            float[] v = vectors[role];
+            int weakest = -1;
+            float weakestSimilarity = dot(v, vectors[neighbour]);
+            for (int i = 0; i < max; i++) {
+                float s = dot(v, vectors[list[i]]);
+                if (s < weakestSimilarity) {
+                    weakest = i;
+                    weakestSimilarity = s;
+                }
+            }
+            if (weakest >= 0) {
+                list[weakest] = neighbour;
+            }
+        }
+
+        void write(LittleEndianOutput out, List<String> titles, long fingerprint) throws IOException {
+            int dim = vectors.length == 0 ? 0 : vectors[0].length;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(vectors.length);
+            out.writeInt(dim);
+            out.writeInt(m);
+            out.writeInt(Math.max(entryPoint, 0));
+            out.writeInt(topLevel);
+            out.writeLong(fingerprint);
+            out.write(levels);
+            out.write(new byte[align(levels.length) - levels.length]);
+            for (float[] vector : vectors) {
+                for (float v : vector) {
+                    out.writeFloat(v);
+                }
+            }
+            for (int[][] roleLinks : links) {
+                for (int neighbour : roleLinks[0]) {
+                    out.writeInt(neighbour);
+                }
+            }
+            for (int[][] roleLinks : links) {
+                for (int l = 1; l < roleLinks.length; l++) {
+                    for (int neighbour : roleLinks[l]) {
+                        out.writeInt(neighbour);
+                    }
+                }
+            }
+            for (String title : titles) {
+                byte[] bytes = title.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.flush();
+        }
+
+        private static int[] empty(int size) {
+            int[] list = new int[size];
+            Arrays.fill(list, -1);
+            return list;
+        }
+
+        private static float dot(float[] a, float[] b) {
+            float sum = 0;
+            for (int i = 0; i < a.length; i++) {
+                sum += a[i] * b[i];
+            }
+            return sum;
+        }
+    }
+
+    /** The index is mapped little-endian, DataOutputStream would write big-endian */
+    private static final class LittleEndianOutput {
+
+        private final BufferedOutputStream out;
+
+        private final ByteBuffer scratch = ByteBuffer.allocate(Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+        LittleEndianOutput(OutputStream out) {
+            this.out = new BufferedOutputStream(out, 1 << 16);
+        }
+
+        void writeInt(int v) throws IOException {
+            out.write(scratch.clear().putInt(v).array(), 0, Integer.BYTES);
+        }
+
+        void writeLong(long v) throws IOException {
+            out.write(scratch.clear().putLong(v).array(), 0, Long.BYTES);
+        }
+
+        void writeFloat(float v) throws IOException {
+            out.write(scratch.clear().putFloat(v).array(), 0, Float.BYTES);
+        }
+
+        void write(byte[] bytes) throws IOException {
+            out.write(bytes);
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.careeros.backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Skill gaps computed locally from a role-to-required-skills matrix.
+ *
+ * Every role's requirements are a bitset over skill ids, stored row after row in one
+ * long[]. Scoring a user is a single pass over that array: per word, requirements
+ * AND NOT the user's skills, then a popcount. That is a tight loop over primitive
+ * arrays with no branches, which HotSpot unrolls and vectorizes.
+ *
+ * Roles come from taxonomy/roles.csv, one per line: "Title,Field,skill,skill,...",
+ * with skills and the field spelled any way the skill taxonomy understands. They are
+ * resolved again whenever the taxonomy is reloaded.
+ */
+@Service
+public class SkillGapEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillGapEngine.class);
+
+    /** Added to the match score of roles in a field the user is interested in */
+    private static final double INTEREST_BONUS = 0.25;
+
+    @Value("${app.skills.roles-location:classpath:taxonomy/roles.csv}")
+    private String location;
+
+    private final SkillTaxonomyService taxonomyService;
+
+    private final ResourceLoader resourceLoader;
+
+    private volatile RoleMatrix matrix;
+
+    public SkillGapEngine(SkillTaxonomyService taxonomyService, ResourceLoader resourceLoader) {
+        this.taxonomyService = taxonomyService;
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * One role's fit for a user: the skills it needs that the user lacks, and the
+     * share of its requirements the user already has
+     */
+    public record RoleMatch(String title, List<Integer> missingSkillIds, double matchScore) {}
+
+    /** One line of a roles file: the field is UNKNOWN when left blank */
+    record RoleProfile(String title, int fieldId, int[] skillIds) {}
+
+    private record RoleMatrix(String[] titles, int[] fieldIds, int[] requiredCounts, long[] requirements, int words) {}
+
+    @PostConstruct
+    void load() throws IOException {
+        matrix = read(taxonomyService.getTaxonomy());
+        logger.info("Loaded {} roles for skill-gap analysis from {}", matrix.titles().length, location);
+        taxonomyService.addReloadListener(this::reload);
+    }
+
+    /**
+     * Resolve the roles against a reloaded taxonomy; if they no longer resolve, the
+     * current matrix stays
+     */
+    void reload(SkillTaxonomy taxonomy) {
+        try {
+            matrix = read(taxonomy);
+            logger.info("Resolved {} roles from {} against the reloaded skill taxonomy", matrix.titles().length,
+                    location);
+        } catch (IOException | IllegalArgumentException e) {
+            logger.error("Roles from {} do not resolve against the reloaded skill taxonomy, keeping the "
+                    + "previous ones: {}", location, e.getMessage());
+        }
+    }
+
+    private RoleMatrix read(SkillTaxonomy taxonomy) throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return parse(reader, taxonomy);
+        }
+    }
+
+    /**
+     * The role that fits best among those sharing at least one skill with the user,
+     * preferring roles in one of the user's fields of interest, or null when no role
+     * shares a skill
+     */
+    public RoleMatch bestMatch(Collection<Integer> skillIds, Collection<Integer> interestIds) {
+        RoleMatrix current = matrix;
+        int roles = current.titles().length;
+        if (roles == 0) {
+            return null;
+        }
+        long[] user = bitset(skillIds, current.words());
+        long[] requirements = current.requirements();
+        int words = current.words();
+
+        int[] missing = new int[roles];
+        for (int r = 0, base = 0; r < roles; r++, base += words) {
+            int count = 0;
+            for (int w = 0; w < words; w++) {
+                count += Long.bitCount(requirements[base + w] & ~user[w]);
+            }
+            missing[r] = count;
+        }
+
+        int best = -1;
+        double bestScore = -1;
+        for (int r = 0; r < roles; r++) {
+            if (missing[r] == current.requiredCounts()[r]) {
+                continue;
+            }
+            double score = matchScore(current, r, missing[r]);
+            if (current.fieldIds()[r] != SkillTaxonomy.UNKNOWN && interestIds.contains(current.fieldIds()[r])) {
+                score += INTEREST_BONUS;
+            }
+            if (score > bestScore) {
+                best = r;
+                bestScore = score;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+        return new RoleMatch(current.titles()[best], missingSkills(current, best, user),
+                matchScore(current, best, missing[best]));
+    }
+
+    /**
+     * Canonical names of the skills missing for the best-fitting role, empty when no
+     * role fits
+     */
+    public List<String> skillGaps(Collection<Integer> skillIds, Collection<Integer> interestIds) {
+        return skillGaps(bestMatch(skillIds, interestIds));
+    }
+
+    /**
+     * Canonical names of a match's missing skills, in id order
+     */
+    public List<String> skillGaps(RoleMatch match) {
+        if (match == null) {
+            return List.of();
+        }
+        SkillTaxonomy taxonomy = taxonomyService.getTaxonomy();
+        List<String> gaps = new ArrayList<>(match.missingSkillIds().size());
+        for (int id : match.missingSkillIds()) {
+            gaps.add(taxonomy.canonicalName(id));
+        }
+        return gaps;
+    }
+
+    private static double matchScore(RoleMatrix matrix, int role, int missing) {
+        int required = matrix.requiredCounts()[role];
+        return required == 0 ? 1.0 : (double) (required - missing) / required;
+    }
+
+    private static List<Integer> missingSkills(RoleMatrix matrix, int role, long[] user) {
+        List<Integer> ids = new ArrayList<>();
+        int base = role * matrix.words();
+        for (int w = 0; w < matrix.words(); w++) {
+            long bits = matrix.requirements()[base + w] & ~user[w];
+            while (bits != 0) {
+                ids.add(w * 64 + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+        return ids;
+    }
+
+    /** Skills beyond the matrix width cannot be required by any role, so they are dropped */
+    private static long[] bitset(Collection<Integer> ids, int words) {
+        long[] bits = new long[words];
+        for (int id : ids) {
+            if (id >= 0 && id < words * 64) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    static RoleMatrix parse(Reader source, SkillTaxonomy taxonomy) throws IOException {
+        List<RoleProfile> profiles = parseProfiles(source, taxonomy);
+        int maxId = -1;
+        for (RoleProfile profile : profiles) {
+            for (int id : profile.skillIds()) {
+                maxId = Math.max(maxId, id);
+            }
+        }
+
+        int words = Math.max(1, (maxId + 64) / 64);
+        long[] matrix = new long[profiles.size() * words];
+        int[] requiredCounts = new int[profiles.size()];
+        String[] titles = new String[profiles.size()];
+        int[] fields = new int[profiles.size()];
+        for (int r = 0; r < profiles.size(); r++) {
+            titles[r] = profiles.get(r).title();
+            fields[r] = profiles.get(r).fieldId();
+            for (int id : profiles.get(r).skillIds()) {
+                matrix[r * words + (id >>> 6)] |= 1L << id;
+            }
+            for (int w = 0; w < words; w++) {
+                requiredCounts[r] += Long.bitCount(matrix[r * words + w]);
+            }
+        }
+        return new RoleMatrix(titles, fields, requiredCounts, matrix, words);
+    }
+
+    /**
+     * The roles in a roles file, with the field and skills resolved to taxonomy ids
+     */
+    static List<RoleProfile> parseProfiles(Reader source, SkillTaxonomy taxonomy) throws IOException {
+        List<RoleProfile> profiles = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            if (parts.length < 3) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected title,field,skill[,skill...]");
+            }
+            int field = parts[1].isBlank() ? SkillTaxonomy.UNKNOWN : resolve(taxonomy, parts[1], lineNumber);
+            int[] skills = new int[parts.length - 2];
+            for (int i = 2; i < parts.length; i++) {
+                skills[i - 2] = resolve(taxonomy, parts[i], lineNumber);
+            }
+            profiles.add(new RoleProfile(parts[0].strip(), field, skills));
+        }
+        return profiles;
+    }
+
+    private static int resolve(SkillTaxonomy taxonomy, String name, int lineNumber) {
+        int id = taxonomy.lookup(name);
+        if (id == SkillTaxonomy.UNKNOWN) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": '" + name.strip()
+                    + "' is not in the skill taxonomy");
+        }
+        return id;
+    }
+}
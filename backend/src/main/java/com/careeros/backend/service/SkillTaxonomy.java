@@ -0,0 +1,223 @@
+package com.careeros.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable dictionary from skill spellings to canonical skill ids, compiled into an
+ * array-backed trie.
+ *
+ * Keys are folded before they go into the trie and again while a lookup walks it:
+ * letters are lower-cased and everything except letters, digits, '+' and '#' is
+ * skipped. "JS", "Java Script" and "java-script" therefore take the same path, and a
+ * lookup allocates nothing. Each node's children are a sorted slice of the label
+ * array, searched with a binary search.
+ *
+ * Dictionary lines are "id,Canonical Name,alias,alias,...". Blank lines and lines
+ * starting with '#' are ignored.
+ */
+public final class SkillTaxonomy {
+
+    public static final int UNKNOWN = -1;
+
+    private static final int ROOT = 0;
+
+    // Node n's children are labels/targets[childStart[n] .. childStart[n + 1])
+    private final int[] childStart;
+    private final char[] labels;
+    private final int[] targets;
+    private final int[] values;
+
+    private final String[] canonicalNames;
+    private final int size;
+
+    private SkillTaxonomy(int[] childStart, char[] labels, int[] targets, int[] values, String[] canonicalNames,
+                          int size) {
+        this.childStart = childStart;
+        this.labels = labels;
+        this.targets = targets;
+        this.values = values;
+        this.canonicalNames = canonicalNames;
+        this.size = size;
+    }
+
+    /**
+     * Skill id for a spelling, or UNKNOWN
+     */
+    public int lookup(CharSequence text) {
+        int node = ROOT;
+        boolean matched = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            if (c == 0) {
+                continue;
+            }
+            node = child(node, c);
+            if (node < 0) {
+                return UNKNOWN;
+            }
+            matched = true;
+        }
+        return matched ? values[node] : UNKNOWN;
+    }
+
+    public String canonicalName(int id) {
+        return id >= 0 && id < canonicalNames.length ? canonicalNames[id] : null;
+    }
+
+    /** Number of skills, not of spellings */
+    public int size() {
+        return size;
+    }
+
+    /** One past the largest skill id, the length a bitset over skills needs */
+    public int idLimit() {
+        return canonicalNames.length;
+    }
+
+    private int child(int node, char c) {
+        int low = childStart[node];
+        int high = childStart[node + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                low = mid + 1;
+            } else if (label > c) {
+                high = mid - 1;
+            } else {
+                return targets[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lower-cased letter or digit, '+' and '#' as they are, 0 for anything to skip
+     */
+    static char fold(char c) {
+        if (c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '+' || c == '#') {
+            return c;
+        }
+        if (c >= 'A' && c <= 'Z') {
+            return (char) (c + ('a' - 'A'));
+        }
+        if (Character.isLetterOrDigit(c)) {
+            return Character.toLowerCase(c);
+        }
+        return 0;
+    }
+
+    public static SkillTaxonomy parse(Reader source) throws IOException {
+        Builder builder = new Builder();
+        BufferedReader reader = new BufferedReader(source);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] fields = line.split(",");
+            if (fields.length < 2) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected id,name[,alias...]");
+            }
+            int id;
+            try {
+                id = Integer.parseInt(fields[0].strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": bad skill id " + fields[0]);
+            }
+            builder.add(id, fields[1].strip(), Arrays.asList(fields).subList(2, fields.length), lineNumber);
+        }
+        return builder.build();
+    }
+
+    private static final class Builder {
+        // Pointer trie while building; flattened into arrays by build()
+        private static final class Node {
+            final TreeMap<Character, Node> children = new TreeMap<>();
+            int value = UNKNOWN;
+        }
+
+        private final Node root = new Node();
+        private final TreeMap<Integer, String> names = new TreeMap<>();
+
+        void add(int id, String canonicalName, List<String> aliases, int lineNumber) {
+            if (id < 0) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": skill ids must not be negative");
+            }
+            if (names.putIfAbsent(id, canonicalName) != null) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": duplicate skill id " + id);
+            }
+            insert(canonicalName, id, lineNumber);
+            for (String alias : aliases) {
+                if (!alias.isBlank()) {
+                    insert(alias, id, lineNumber);
+                }
+            }
+        }
+
+        private void insert(String spelling, int id, int lineNumber) {
+            Node node = root;
+            for (int i = 0; i < spelling.length(); i++) {
+                char c = fold(spelling.charAt(i));
+                if (c != 0) {
+                    node = node.children.computeIfAbsent(c, k -> new Node());
+                }
+            }
+            if (node == root) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": '" + spelling + "' has no letters or digits");
+            }
+            if (node.value != UNKNOWN && node.value != id) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": '" + spelling
+                        + "' already belongs to skill " + node.value);
+            }
+            node.value = id;
+        }
+
+        SkillTaxonomy build() {
+            // Breadth-first numbering keeps each node's children contiguous
+            List<Node> order = new ArrayList<>();
+            order.add(root);
+            for (int i = 0; i < order.size(); i++) {
+                order.addAll(order.get(i).children.values());
+            }
+            Map<Node, Integer> index = new IdentityHashMap<>();
+            for (int i = 0; i < order.size(); i++) {
+                index.put(order.get(i), i);
+            }
+
+            int nodes = order.size();
+            int[] childStart = new int[nodes + 1];
+            char[] labels = new char[nodes - 1];
+            int[] targets = new int[nodes - 1];
+            int[] values = new int[nodes];
+            int edge = 0;
+            for (int i = 0; i < nodes; i++) {
+                Node node = order.get(i);
+                childStart[i] = edge;
+                values[i] = node.value;
+                for (Map.Entry<Character, Node> child : node.children.entrySet()) {
+                    labels[edge] = child.getKey();
+                    targets[edge] = index.get(child.getValue());
+                    edge++;
+                }
+            }
+            childStart[nodes] = edge;
+
+            int idLimit = names.isEmpty() ? 0 : names.lastKey() + 1;
+            String[] canonicalNames = new String[idLimit];
+            names.forEach((id, name) -> canonicalNames[id] = name);
+            return new SkillTaxonomy(childStart, labels, targets, values, canonicalNames, names.size());
+        }
+    }
+}
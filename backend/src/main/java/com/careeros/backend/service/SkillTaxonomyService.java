@@ -0,0 +1,174 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.payload.request.CareerRecommendationRequest;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Maps free-form skills and interests to canonical names and skill ids, so that "JS",
+ * "javascript" and "Java Script" reach the AI service as one skill.
+ *
+ * The dictionary is compiled into an immutable SkillTaxonomy and published through a
+ * volatile field. A reload builds the new taxonomy off to the side and swaps it in,
+ * so lookups never wait, and a dictionary that fails to parse leaves the old one in
+ * place. File dictionaries are checked for changes on a schedule.
+ *
+ * Skill ids never change, but which id a spelling resolves to can, so services that
+ * resolved their own files against the taxonomy register a reload listener and
+ * resolve them again.
+ */
+@Service
+public class SkillTaxonomyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SkillTaxonomyService.class);
+
+    @Value("${app.skills.taxonomy-location:classpath:taxonomy/skills.csv}")
+    private String location;
+
+    private final ResourceLoader resourceLoader;
+
+    private volatile SkillTaxonomy taxonomy;
+
+    private volatile long loadedLastModified;
+
+    private final List<Consumer<SkillTaxonomy>> reloadListeners = new CopyOnWriteArrayList<>();
+
+    public SkillTaxonomyService(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Canonical names of the known terms followed by the unknown ones, without
+     * duplicates, and the ids of the known ones
+     */
+    public record NormalizedTerms(List<String> names, List<Integer> ids) {}
+
+    @PostConstruct
+    void load() throws IOException {
+        Resource resource = resourceLoader.getResource(location);
+        taxonomy = read(resource);
+        loadedLastModified = lastModified(resource);
+        logger.info("Loaded skill taxonomy with {} skills from {}", taxonomy.size(), location);
+    }
+
+    public SkillTaxonomy getTaxonomy() {
+        return taxonomy;
+    }
+
+    /**
+     * Call listener with every taxonomy a reload swaps in, on the reloading thread
+     */
+    public void addReloadListener(Consumer<SkillTaxonomy> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Replace skills and interests with their canonical forms and fill in skillIds
+     */
+    public void normalize(CareerRecommendationRequest request) {
+        SkillTaxonomy current = taxonomy;
+        NormalizedTerms skills = normalize(current, request.getSkills());
+        request.setSkills(skills.names());
+        request.setSkillIds(skills.ids());
+        request.setInterests(normalize(current, request.getInterests()).names());
+    }
+
+    public NormalizedTerms normalize(List<String> terms) {
+        return normalize(taxonomy, terms);
+    }
+
+    private static NormalizedTerms normalize(SkillTaxonomy current, List<String> terms) {
+        if (terms == null) {
+            return new NormalizedTerms(List.of(), List.of());
+        }
+        Set<Integer> ids = new LinkedHashSet<>();
+        Set<String> unknownKeys = new HashSet<>();
+        List<String> unknown = new ArrayList<>();
+        for (String term : terms) {
+            if (term == null || term.isBlank()) {
+                continue;
+            }
+            int id = current.lookup(term);
+            if (id != SkillTaxonomy.UNKNOWN) {
+                ids.add(id);
+                continue;
+            }
+            String cleaned = term.strip().replaceAll("\\s+", " ");
+            if (unknownKeys.add(cleaned.toLowerCase(Locale.ROOT))) {
+                unknown.add(cleaned);
+            }
+        }
+
+        List<String> names = new ArrayList<>(ids.size() + unknown.size());
+        for (int id : ids) {
+            names.add(current.canonicalName(id));
+        }
+        names.addAll(unknown);
+        return new NormalizedTerms(names, List.copyOf(ids));
+    }
+
+    @Scheduled(fixedDelayString = "${app.skills.reload-interval-ms:30000}",
+               initialDelayString = "${app.skills.reload-interval-ms:30000}")
+    public void reloadIfChanged() {
+        Resource resource = resourceLoader.getResource(location);
+        long lastModified = lastModified(resource);
+        if (lastModified <= 0 || lastModified == loadedLastModified) {
+            return;
+        }
+        try {
+            SkillTaxonomy reloaded = read(resource);
+            taxonomy = reloaded;
+            loadedLastModified = lastModified;
+            logger.info("Reloaded skill taxonomy with {} skills from {}", reloaded.size(), location);
+        } catch (IOException | IllegalArgumentException e) {
+            // Remember the bad version so it is not parsed again every interval
+            loadedLastModified = lastModified;
+            logger.error("Skill taxonomy reload from {} failed, keeping the previous one: {}", location,
+                    e.getMessage());
+            return;
+        }
+        for (Consumer<SkillTaxonomy> listener : reloadListeners) {
+            try {
+                listener.accept(taxonomy);
+            } catch (RuntimeException e) {
+                logger.error("Skill taxonomy reload listener failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private static SkillTaxonomy read(Resource resource) throws IOException {
+        try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+            return SkillTaxonomy.parse(reader);
+        }
+    }
+
+    /**
+     * Modification time of a file dictionary, 0 when it cannot change (inside a jar)
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
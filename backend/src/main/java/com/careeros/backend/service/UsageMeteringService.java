@@ -0,0 +1,160 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.AIUsage;
+import com.careeros.backend.payload.response.AIUsageResponse;
+import com.careeros.backend.repository.AIUsageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates per-user AI usage in memory and writes it to the ai_usage table in
+ * periodic batched updates, so metering never adds a write to the request path.
+ */
+@Service
+public class UsageMeteringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UsageMeteringService.class);
+
+    // Plain SQL rather than ON CONFLICT, so the same statements run on Postgres and H2.
+    // Two instances inserting the same new user at once make one flush fail and retry.
+    private static final String INSERT_MISSING_SQL =
+            "INSERT INTO ai_usage (user_id, call_count, bytes_analyzed, upstream_time_ms, updated_at) "
+            + "SELECT ?, 0, 0, 0, ? WHERE NOT EXISTS (SELECT 1 FROM ai_usage WHERE user_id = ?)";
+
+    private static final String ADD_SQL =
+            "UPDATE ai_usage SET call_count = call_count + ?, bytes_analyzed = bytes_analyzed + ?, "
+            + "upstream_time_ms = upstream_time_ms + ?, updated_at = ? WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AIUsageRepository usageRepository;
+
+    // Entries are never removed, so a recorder can't race a flush and lose an increment.
+    // The map is bounded by the number of users who have called the AI service.
+    private final ConcurrentHashMap<Long, Counters> pending = new ConcurrentHashMap<>();
+
+    public UsageMeteringService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                                AIUsageRepository usageRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.usageRepository = usageRepository;
+    }
+
+    private static final class Counters {
+        final LongAdder calls = new LongAdder();
+        final LongAdder bytesAnalyzed = new LongAdder();
+        final LongAdder upstreamNanos = new LongAdder();
+    }
+
+    private record Delta(Long userId, long calls, long bytesAnalyzed, long upstreamNanos) {}
+
+    /**
+     * Record one successful AI call; failed and retried attempts are not billed
+     */
+    public void record(Integer userId, long bytesAnalyzed, long upstreamNanos) {
+        if (userId == null) {
+            return;
+        }
+        Counters counters = pending.computeIfAbsent(userId.longValue(), id -> new Counters());
+        counters.calls.increment();
+        counters.bytesAnalyzed.add(bytesAnalyzed);
+        counters.upstreamNanos.add(upstreamNanos);
+    }
+
+    /**
+     * Flushed totals plus whatever has not been written yet. While a flush is in
+     * flight the pending part may briefly be missing from the total.
+     */
+    public AIUsageResponse getUsage(Long userId) {
+        long calls = 0;
+        long bytes = 0;
+        long upstreamMs = 0;
+
+        AIUsage flushed = usageRepository.findById(userId).orElse(null);
+        if (flushed != null) {
+            calls = flushed.getCallCount();
+            bytes = flushed.getBytesAnalyzed();
+            upstreamMs = flushed.getUpstreamTimeMs();
+        }
+
+        Counters counters = pending.get(userId);
+        if (counters != null) {
+            calls += counters.calls.sum();
+            bytes += counters.bytesAnalyzed.sum();
+            upstreamMs += TimeUnit.NANOSECONDS.toMillis(counters.upstreamNanos.sum());
+        }
+
+        return new AIUsageResponse(userId, calls, bytes, upstreamMs);
+    }
+
+    @Scheduled(fixedDelayString = "${ai.usage.flush-interval-ms:30000}")
+    public void flush() {
+        List<Delta> deltas = new ArrayList<>();
+        for (Map.Entry<Long, Counters> entry : pending.entrySet()) {
+            Counters counters = entry.getValue();
+            long calls = counters.calls.sumThenReset();
+            long bytes = counters.bytesAnalyzed.sumThenReset();
+            long nanos = counters.upstreamNanos.sumThenReset();
+            // Carry sub-millisecond remainders over to the next flush
+            long remainder = nanos % TimeUnit.MILLISECONDS.toNanos(1);
+            if (remainder != 0) {
+                counters.upstreamNanos.add(remainder);
+            }
+            if (calls == 0 && bytes == 0 && nanos == remainder) {
+                continue;
+            }
+            deltas.add(new Delta(entry.getKey(), calls, bytes, nanos - remainder));
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            // All or nothing, so a failed flush can put every delta back without double counting
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT_MISSING_SQL, deltas, deltas.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.userId());
+                    ps.setTimestamp(2, now);
+                    ps.setLong(3, delta.userId());
+                });
+                jdbcTemplate.batchUpdate(ADD_SQL, deltas, deltas.size(), (ps, delta) -> {
+                    ps.setLong(1, delta.calls());
+                    ps.setLong(2, delta.bytesAnalyzed());
+                    ps.setLong(3, TimeUnit.NANOSECONDS.toMillis(delta.upstreamNanos()));
+                    ps.setTimestamp(4, now);
+                    ps.setLong(5, delta.userId());
+                });
+            });
+            logger.debug("Flushed AI usage for {} users", deltas.size());
+        } catch (Exception e) {
+            logger.error("AI usage flush failed, keeping {} entries for the next attempt: {}",
+                    deltas.size(), e.getMessage());
+            for (Delta delta : deltas) {
+                Counters counters = pending.computeIfAbsent(delta.userId(), id -> new Counters());
+                counters.calls.add(delta.calls());
+                counters.bytesAnalyzed.add(delta.bytesAnalyzed());
+                counters.upstreamNanos.add(delta.upstreamNanos());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,216 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.model.Role;
+import com.careeros.backend.payload.request.AIAnalysisRequest;
+import com.careeros.backend.payload.request.CareerRecommendationRequest;
+import com.careeros.backend.payload.request.LoginRequest;
+import com.careeros.backend.payload.request.SignupRequest;
+import com.careeros.backend.payload.response.AIAnalysisResponse;
+import com.careeros.backend.payload.response.CareerRecommendationResponse;
+import com.careeros.backend.payload.response.JwtResponse;
+import com.careeros.backend.payload.response.MessageResponse;
+import com.careeros.backend.repository.UserRepository;
+import com.careeros.backend.security.JwtUtils;
+import com.careeros.backend.security.UserDetailsImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Exercises the request hot path before the app reports ready. Application runners
+ * finish before the readiness state moves to ACCEPTING_TRAFFIC, so the first real
+ * requests on a new pod meet JIT-compiled JWT and Jackson code, parsed Hibernate
+ * queries, a filled connection pool and open connections to the AI service.
+ *
+ * Every step is best effort: a failure is logged and the next step still runs.
+ * Step timings are recorded as startup steps and appear in /actuator/startup.
+ */
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+
+    private static final String WARMUP_USERNAME = "__warmup__";
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.iterations:500}")
+    private int iterations;
+
+    @Value("${app.warmup.ai-connections:4}")
+    private int aiConnections;
+
+    private final JwtUtils jwtUtils;
+    private final ObjectMapper objectMapper;
+    private final UserRepository userRepository;
+    private final List<HikariDataSource> pools;
+    private final AIService aiService;
+    private final ApplicationStartup applicationStartup;
+
+    public WarmupRunner(JwtUtils jwtUtils, ObjectMapper objectMapper, UserRepository userRepository,
+                        List<HikariDataSource> pools, AIService aiService, ApplicationStartup applicationStartup) {
+        this.jwtUtils = jwtUtils;
+        this.objectMapper = objectMapper;
+        this.userRepository = userRepository;
+        // Without a replica, replicaDataSource is the primary pool again
+        this.pools = pools.stream().distinct().toList();
+        this.aiService = aiService;
+        this.applicationStartup = applicationStartup;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        StartupStep warmup = applicationStartup.start("careeros.warmup");
+        try {
+            step("jwt", this::warmJwt);
+            step("jackson", this::warmJackson);
+            step("connection-pool", this::prefillPools);
+            step("user-repository", this::warmUserRepository);
+            step("ai-connections", this::openAIConnections);
+        } finally {
+            warmup.end();
+        }
+        logger.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void step(String name, Runnable body) {
+        StartupStep step = applicationStartup.start("careeros.warmup." + name);
+        long start = System.nanoTime();
+        try {
+            body.run();
+            step.tag("outcome", "success");
+        } catch (RuntimeException e) {
+            step.tag("outcome", "failed");
+            logger.warn("Warm-up step {} failed: {}", name, e.getMessage());
+        } finally {
+            step.end();
+            logger.debug("Warm-up step {} took {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void warmJwt() {
+        UserDetailsImpl user = new UserDetailsImpl(0L, WARMUP_USERNAME, "warmup@careeros.local", "Warm", "Up", "",
+                List.of(new SimpleGrantedAuthority(Role.ROLE_CANDIDATE.name())));
+        Authentication authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        for (int i = 0; i < iterations; i++) {
+            String token = jwtUtils.generateJwtToken(authentication);
+            jwtUtils.getUserNameFromValidJwtToken(token);
+        }
+    }
+
+    private void warmJackson() {
+        String analysisRequest = """
+                {"userId":0,"content":"Java developer with Spring Boot and PostgreSQL","analysisType":"resume",
+                 "parameters":{"language":"en"}}""";
+        String recommendationRequest = """
+                {"userId":0,"skills":["java","spring"],"experienceYears":3,"interests":["backend"],"location":"remote"}""";
+        String loginRequest = """
+                {"username":"warmup","password":"password123"}""";
+        String signupRequest = """
+                {"username":"warmup","email":"warmup@careeros.local","firstName":"Warm","lastName":"Up",
+                 "password":"password123","role":["candidate"]}""";
+        String analysisResponse = """
+                {"analysisId":"warmup","userId":0,"content":"","analysisType":"resume",
+                 "result":{"summary":"warm-up","keywords":["java"]},"confidenceScore":0.9,
+                 "processingTimeMs":1,"createdAt":"2025-01-01T00:00:00","status":"completed"}""";
+        String recommendationResponse = """
+                {"recommendationId":"warmup","userId":0,"recommendations":[{"title":"Backend Engineer"}],
+                 "skillGaps":["kubernetes"],"suggestedCourses":[{"title":"Kubernetes Basics"}],
+                 "marketTrends":{"demand":"high"},"confidenceScore":0.8,"createdAt":"2025-01-01T00:00:00"}""";
+        try {
+            for (int i = 0; i < iterations; i++) {
+                objectMapper.readValue(analysisRequest, AIAnalysisRequest.class);
+                objectMapper.readValue(recommendationRequest, CareerRecommendationRequest.class);
+                objectMapper.readValue(loginRequest, LoginRequest.class);
+                objectMapper.readValue(signupRequest, SignupRequest.class);
+                objectMapper.writeValueAsBytes(objectMapper.readValue(analysisResponse, AIAnalysisResponse.class));
+                objectMapper.writeValueAsBytes(
+                        objectMapper.readValue(recommendationResponse, CareerRecommendationResponse.class));
+                objectMapper.writeValueAsBytes(new JwtResponse("token", 0L, "warmup", "warmup@careeros.local",
+                        "Warm", "Up", List.of(Role.ROLE_CANDIDATE.name())));
+                objectMapper.writeValueAsBytes(new MessageResponse("warm-up"));
+            }
+        } catch (Exception e) {
+            throw new RuntimeException("Jackson warm-up failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Hikari connects lazily; holding minimum-idle connections at once makes each pool
+     * (primary, and the replica when one is configured) open them now
+     */
+    private void prefillPools() {
+        for (HikariDataSource pool : pools) {
+            prefill(pool);
+        }
+    }
+
+    private void prefill(HikariDataSource pool) {
+        int target = Math.max(1, pool.getMinimumIdle());
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            for (int i = 0; i < target; i++) {
+                connections.add(pool.getConnection());
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Could not open connection in pool " + pool.getPoolName() + ": "
+                    + e.getMessage(), e);
+        } finally {
+            for (Connection connection : connections) {
+                try {
+                    connection.close();
+                } catch (SQLException e) {
+                    logger.debug("Closing warm-up connection failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void warmUserRepository() {
+        for (int i = 0; i < Math.min(iterations, 50); i++) {
+            userRepository.findByUsername(WARMUP_USERNAME);
+            userRepository.existsByUsername(WARMUP_USERNAME);
+            userRepository.existsByEmail(WARMUP_USERNAME);
+        }
+    }
+
+    /**
+     * Parallel health checks leave that many keep-alive connections to the AI service in
+     * the JDK's connection cache, with DNS already resolved
+     */
+    private void openAIConnections() {
+        try (ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, aiConnections))) {
+            List<CompletableFuture<Object>> checks = new ArrayList<>();
+            for (int i = 0; i < aiConnections; i++) {
+                checks.add(CompletableFuture.supplyAsync(() -> aiService.checkAIHealth().get("status"), executor));
+            }
+            Object status = checks.isEmpty() ? null : checks.get(0).join();
+            if ("unhealthy".equals(status)) {
+                throw new RuntimeException("AI service is not reachable");
+            }
+        }
+    }
+}
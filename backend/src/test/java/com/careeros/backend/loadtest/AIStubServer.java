@@ -0,0 +1,106 @@
+package com.careeros.backend.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stand-in for the FastAPI AI service. Latency is log-normal, fitted to a median and
+ * a p99, and a configurable share of calls fail with 503 or 500.
+ */
+public class AIStubServer {
+
+    private static final double Z_99 = 2.326;
+
+    private final double mu;
+    private final double sigma;
+    private final double unavailableRate;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private HttpServer server;
+
+    public AIStubServer(double medianMs, double p99Ms, double unavailableRate, double errorRate) {
+        this.mu = Math.log(medianMs);
+        this.sigma = Math.log(Math.max(p99Ms, medianMs) / medianMs) / Z_99;
+        this.unavailableRate = unavailableRate;
+        this.errorRate = errorRate;
+    }
+
+    public void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/api/v1/ai/analyze", exchange -> respond(exchange, """
+                {"analysisId":"stub-%d","userId":1,"content":"","analysisType":"general",
+                 "result":{"summary":"stub analysis","keywords":["java","spring"]},
+                 "confidenceScore":0.9,"processingTimeMs":%d,"createdAt":"2025-01-01T00:00:00","status":"completed"}
+                """));
+        server.createContext("/api/v1/ai/career-recommendations", exchange -> respond(exchange, """
+                {"recommendationId":"stub-%d","userId":1,
+                 "recommendations":[{"title":"Backend Engineer","matchScore":0.9}],
+                 "skillGaps":["kubernetes"],"suggestedCourses":[{"title":"Kubernetes Basics"}],
+                 "marketTrends":{"demand":"high","processingTimeMs":%d},"confidenceScore":0.8,
+                 "createdAt":"2025-01-01T00:00:00"}
+                """));
+        server.createContext("/api/v1/ai/market-trends", exchange -> send(exchange, 200, """
+                {"region":"global","hot_skills":["Java","Docker"],"growing_roles":["Platform Engineer"]}
+                """));
+        server.createContext("/api/v1/ai/health", exchange -> send(exchange, 200, "{\"status\":\"healthy\"}"));
+        server.start();
+    }
+
+    public void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    private void respond(HttpExchange exchange, String template) throws IOException {
+        long id = requests.incrementAndGet();
+        try (InputStream body = exchange.getRequestBody()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long latencyMs = Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        try {
+            Thread.sleep(latencyMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        double roll = random.nextDouble();
+        if (roll < unavailableRate) {
+            send(exchange, 503, "{\"detail\":\"stub unavailable\"}");
+        } else if (roll < unavailableRate + errorRate) {
+            send(exchange, 500, "{\"detail\":\"stub error\"}");
+        } else {
+            send(exchange, 200, template.formatted(id, latencyMs));
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.careeros.backend.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latency samples per flow, summarized as throughput and percentiles.
+ */
+class LoadReport {
+
+    private final Map<String, Flow> flows = new ConcurrentHashMap<>();
+
+    static final class Flow {
+        private final List<Long> latenciesNanos = new ArrayList<>();
+        private final AtomicLong errors = new AtomicLong();
+        private long[] sorted;
+
+        synchronized void record(long latencyNanos) {
+            latenciesNanos.add(latencyNanos);
+            sorted = null;
+        }
+
+        void error() {
+            errors.incrementAndGet();
+        }
+
+        synchronized long count() {
+            return latenciesNanos.size() + errors.get();
+        }
+
+        long errors() {
+            return errors.get();
+        }
+
+        double errorRate() {
+            long count = count();
+            return count == 0 ? 0.0 : (double) errors.get() / count;
+        }
+
+        synchronized double percentileMs(double percentile) {
+            if (latenciesNanos.isEmpty()) {
+                return 0.0;
+            }
+            if (sorted == null) {
+                sorted = latenciesNanos.stream().mapToLong(Long::longValue).toArray();
+                Arrays.sort(sorted);
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+        }
+    }
+
+    Flow flow(String name) {
+        return flows.computeIfAbsent(name, n -> new Flow());
+    }
+
+    String render(double durationSeconds) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                "flow", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (Map.Entry<String, Flow> entry : new LinkedHashMap<>(flows).entrySet()) {
+            Flow flow = entry.getValue();
+            report.append(String.format(Locale.ROOT, "%-24s %8d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), flow.count(), flow.errors(), flow.count() / durationSeconds,
+                    flow.percentileMs(50), flow.percentileMs(90), flow.percentileMs(99), flow.percentileMs(100)));
+        }
+        return report.toString();
+    }
+}
@@ -0,0 +1,167 @@
+package com.careeros.backend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * End-to-end load test: the full backend on H2 with an in-process AI stub, driven
+ * open-loop at a fixed request rate. Latency is measured from each request's
+ * scheduled start, so a stalled server cannot hide its queueing delay.
+ *
+ * Tunable with system properties, e.g.
+ * ./mvnw -Ploadtest verify -Dloadtest.rate=100 -Dloadtest.duration-seconds=60 -Dloadtest.max-p99-ms=800
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class LoadTestIT {
+
+    private static final AIStubServer aiStub = new AIStubServer(
+            doubleProperty("loadtest.ai.median-ms", 40),
+            doubleProperty("loadtest.ai.p99-ms", 250),
+            doubleProperty("loadtest.ai.unavailable-rate", 0.01),
+            doubleProperty("loadtest.ai.error-rate", 0.0));
+
+    private final int users = (int) doubleProperty("loadtest.users", 20);
+    private final double rate = doubleProperty("loadtest.rate", 50);
+    private final double durationSeconds = doubleProperty("loadtest.duration-seconds", 30);
+    private final double maxP99Ms = doubleProperty("loadtest.max-p99-ms", 1500);
+    private final double maxErrorRate = doubleProperty("loadtest.max-error-rate", 0.02);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+    private final LoadReport report = new LoadReport();
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void aiServiceUrl(DynamicPropertyRegistry registry) throws IOException {
+        aiStub.start();
+        registry.add("ai.service.url", aiStub::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        aiStub.stop();
+    }
+
+    @Test
+    void sustainsTargetRateWithinThresholds() throws Exception {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String username = "lt" + runId + "u" + i;
+            timed("signup", post("/api/auth/signup", null, Map.of(
+                    "username", username,
+                    "email", username + "@loadtest.local",
+                    "firstName", "Load",
+                    "lastName", "Test",
+                    "password", "password123",
+                    "role", List.of("candidate"))), System.nanoTime());
+            HttpResponse<String> signin = timed("signin", post("/api/auth/signin", null, Map.of(
+                    "username", username,
+                    "password", "password123")), System.nanoTime());
+            JsonNode body = objectMapper.readTree(signin.body());
+            tokens.add(body.path("token").asText());
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long total = (long) (rate * durationSeconds);
+        long start = System.nanoTime();
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long i = 0; i < total; i++) {
+                long scheduled = start + i * intervalNanos;
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                String token = tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+                boolean analyze = ThreadLocalRandom.current().nextDouble() < 0.7;
+                workers.submit(() -> analyze
+                        ? timed("analyze", post("/api/ai/analyze", token, Map.of(
+                                "userId", 0,
+                                "content", "Experienced Java developer with Spring Boot and PostgreSQL. ".repeat(50),
+                                "analysisType", "resume")), scheduled)
+                        : timed("career-recommendations", post("/api/ai/career-recommendations", token, Map.of(
+                                "userId", 0,
+                                "skills", List.of("java", "spring", "sql"),
+                                "experienceYears", 4,
+                                "interests", List.of("backend", "cloud"))), scheduled));
+            }
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        String rendered = "Load test: " + rate + " req/s for " + durationSeconds + " s, " + users + " users, "
+                + aiStub.requests() + " AI stub calls\n" + report.render(elapsedSeconds);
+        System.out.println(rendered);
+        Files.createDirectories(Path.of("target"));
+        Files.writeString(Path.of("target", "loadtest-report.txt"), rendered);
+
+        for (String flow : List.of("analyze", "career-recommendations")) {
+            LoadReport.Flow stats = report.flow(flow);
+            assertTrue(stats.percentileMs(99) <= maxP99Ms,
+                    flow + " p99 " + stats.percentileMs(99) + " ms exceeds " + maxP99Ms + " ms");
+            assertTrue(stats.errorRate() <= maxErrorRate,
+                    flow + " error rate " + stats.errorRate() + " exceeds " + maxErrorRate);
+        }
+    }
+
+    private HttpRequest post(String path, String token, Object body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return request.build();
+    }
+
+    private HttpResponse<String> timed(String flow, HttpRequest request, long scheduledNanos) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400) {
+                report.flow(flow).error();
+            } else {
+                report.flow(flow).record(System.nanoTime() - scheduledNanos);
+            }
+            return response;
+        } catch (IOException | InterruptedException e) {
+            report.flow(flow).error();
+            throw new IllegalStateException(flow + " request failed", e);
+        }
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+}
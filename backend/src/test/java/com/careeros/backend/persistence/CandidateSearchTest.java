@@ -0,0 +1,134 @@
+package com.careeros.backend.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Recruiter candidate search against H2: matching on each column, the candidate-only
+ * filter, keyset pages and LIKE wildcards in the query.
+ */
+@SpringBootTest(properties = {
+        "app.warmup.enabled=false",
+        "ai.service.url=http://localhost:8000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CandidateSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private String recruiterToken;
+
+    private String candidateToken;
+
+    @BeforeAll
+    void seed() throws Exception {
+        recruiterToken = signUpAndIn("searchrecruiter", "recruiter");
+        candidateToken = signUpAndIn("searchcandidate", "candidate");
+        for (int i = 0; i < 5; i++) {
+            insertUser(8100 + i, "jdev" + i, "jdev" + i + "@search.local", "Jane", "Developer" + i, "ROLE_CANDIDATE");
+        }
+        insertUser(8110, "jdevrecruiter", "jdevrecruiter@search.local", "Jane", "Hiring", "ROLE_RECRUITER");
+        insertUser(8111, "percent", "100%match@search.local", "Per", "Cent", "ROLE_CANDIDATE");
+    }
+
+    @Test
+    void pagesThroughMatchesWithKeysetCursor() throws Exception {
+        List<String> usernames = new ArrayList<>();
+        JsonNode page = search("q=jdev&match=prefix&limit=2", recruiterToken);
+        while (true) {
+            page.path("items").forEach(item -> usernames.add(item.path("username").asText()));
+            if (page.path("nextCursor").isNull()) {
+                break;
+            }
+            page = search("q=jdev&match=prefix&limit=2&after=" + page.path("nextCursor").asLong(), recruiterToken);
+        }
+        assertEquals(List.of("jdev0", "jdev1", "jdev2", "jdev3", "jdev4"), usernames);
+    }
+
+    @Test
+    void matchesNameSubstringCaseInsensitively() throws Exception {
+        JsonNode page = search("q=E%20DEVELOPER3", recruiterToken);
+        assertEquals(1, page.path("items").size());
+        assertEquals("jdev3", page.path("items").get(0).path("username").asText());
+    }
+
+    @Test
+    void treatsWildcardsLiterally() throws Exception {
+        JsonNode page = search("q=0%25m", recruiterToken);
+        assertEquals(1, page.path("items").size());
+        assertEquals("percent", page.path("items").get(0).path("username").asText());
+        assertTrue(search("q=j_ev", recruiterToken).path("items").isEmpty());
+    }
+
+    @Test
+    void onlyRecruitersCanSearch() throws Exception {
+        mockMvc.perform(get("/api/recruiter/candidates?q=jdev").header("Authorization", "Bearer " + candidateToken))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/api/recruiter/candidates?q=j").header("Authorization", "Bearer " + recruiterToken))
+                .andExpect(status().isBadRequest());
+    }
+
+    private JsonNode search(String query, String token) throws Exception {
+        String body = mockMvc.perform(get(URI.create("/api/recruiter/candidates?" + query))
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void insertUser(long id, String username, String email, String firstName, String lastName, String role) {
+        jdbcTemplate.update("INSERT INTO users (id, username, email, first_name, last_name, password) "
+                + "VALUES (?, ?, ?, ?, ?, 'x')", id, username, email, firstName, lastName);
+        jdbcTemplate.update("INSERT INTO user_roles (user_id, role) VALUES (?, ?)", id, role);
+    }
+
+    private String signUpAndIn(String username, String role) throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "email", username + "@search.local",
+                                "firstName", "Search",
+                                "lastName", "Test",
+                                "password", "password123",
+                                "role", List.of(role)))))
+                .andExpect(status().isOk());
+        String body = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "password", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).path("token").asText();
+    }
+}
@@ -0,0 +1,96 @@
+package com.careeros.backend.persistence;
+
+import com.careeros.backend.loadtest.AIStubServer;
+import com.careeros.backend.repository.MarketTrendSnapshotRepository;
+import com.careeros.backend.service.AIService;
+import com.careeros.backend.service.MarketTrendsService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * The market-trends snapshot: region matching, refresh from the AI service, and
+ * restoring the persisted snapshot the way a restarted instance does.
+ */
+@SpringBootTest(properties = {
+        "app.warmup.enabled=false",
+        "app.market-trends.regions=global,remote,new york"
+})
+@ActiveProfiles("loadtest")
+class MarketTrendsSnapshotTest {
+
+    private static final AIStubServer aiStub = new AIStubServer(1, 1, 0, 0);
+
+    @Autowired
+    private MarketTrendsService marketTrendsService;
+
+    @Autowired
+    private MarketTrendSnapshotRepository repository;
+
+    @Autowired
+    private AIService aiService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @DynamicPropertySource
+    static void aiServiceUrl(DynamicPropertyRegistry registry) throws IOException {
+        aiStub.start();
+        registry.add("ai.service.url", aiStub::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        aiStub.stop();
+    }
+
+    @Test
+    void locationsMapToTheMostSpecificConfiguredRegion() {
+        assertEquals("new york", marketTrendsService.regionFor("Brooklyn, New York"));
+        assertEquals("remote", marketTrendsService.regionFor("REMOTE (EU)"));
+        assertEquals("global", marketTrendsService.regionFor("Lisbon"));
+        assertEquals("new york", marketTrendsService.regionFor("new-york"));
+        // Whole words only
+        assertEquals("global", marketTrendsService.regionFor("New Yorker Street, Newark"));
+        assertEquals("global", marketTrendsService.regionFor("Remoteville"));
+        assertEquals("global", marketTrendsService.regionFor(null));
+    }
+
+    @Test
+    void refreshedSnapshotIsServedAndRestoredAfterRestart() {
+        marketTrendsService.refresh();
+
+        MarketTrendsService.Snapshot snapshot = marketTrendsService.getSnapshot();
+        assertNotNull(snapshot.refreshedAt());
+        assertEquals(3, snapshot.trendsByRegion().size());
+        assertEquals(List.of("Java", "Docker"), marketTrendsService.trendsFor("New York").get("hot_skills"));
+        assertSame(marketTrendsService.trendsFor("New York"), marketTrendsService.trendsFor("new york city"));
+        assertEquals(3, repository.count());
+
+        MarketTrendsService restarted = new MarketTrendsService(aiService, repository, objectMapper,
+                List.of("global", "remote", "new york"));
+        ReflectionTestUtils.setField(restarted, "maxAgeMs", 3_600_000L);
+        assertNull(restarted.trendsFor("Remote"));
+        restarted.run(null);
+
+        MarketTrendsService.Snapshot restored = restarted.getSnapshot();
+        assertEquals(snapshot.trendsByRegion(), restored.trendsByRegion());
+        assertNotNull(restored.refreshedAt());
+        restarted.refreshIfStale();
+        assertSame(restored, restarted.getSnapshot());
+    }
+}
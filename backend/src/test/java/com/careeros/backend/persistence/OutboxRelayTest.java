@@ -0,0 +1,222 @@
+package com.careeros.backend.persistence;
+
+import com.careeros.backend.loadtest.AIStubServer;
+import com.careeros.backend.model.OutboxEvent;
+import com.careeros.backend.repository.OutboxEventRepository;
+import com.careeros.backend.service.OutboxRelay;
+import com.careeros.backend.service.OutboxService;
+import com.careeros.backend.service.OutboxSink;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The transactional outbox: events written with signups and analyses, and the relay's
+ * ordered, at-least-once delivery to the file sink and to a sink that fails.
+ */
+@SpringBootTest(properties = {"app.warmup.enabled=false", "app.outbox.settle-ms=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class OutboxRelayTest {
+
+    private static final AIStubServer aiStub = new AIStubServer(1, 1, 0, 0);
+
+    private static final Path sinkFile = Path.of(System.getProperty("java.io.tmpdir"),
+            "careeros-outbox-test-" + ProcessHandle.current().pid() + ".jsonl");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OutboxRelay relay;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private OutboxEventRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @DynamicPropertySource
+    static void properties(DynamicPropertyRegistry registry) throws IOException {
+        aiStub.start();
+        registry.add("ai.service.url", aiStub::url);
+        registry.add("app.outbox.file-sink.path", sinkFile::toString);
+    }
+
+    @AfterAll
+    static void cleanUp() throws IOException {
+        aiStub.stop();
+        Files.deleteIfExists(sinkFile);
+    }
+
+    @BeforeEach
+    void drain() throws IOException {
+        relay.relay();
+        Files.deleteIfExists(sinkFile);
+    }
+
+    private String signUp(String username) throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "email", username + "@example.com",
+                                "firstName", "Out",
+                                "lastName", "Box",
+                                "password", "password123",
+                                "role", List.of("candidate")))))
+                .andExpect(status().isOk());
+        return objectMapper.readTree(mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username, "password", "password123"))))
+                .andReturn().getResponse().getContentAsString()).get("token").asText();
+    }
+
+    private List<JsonNode> sinkLines() throws IOException {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(sinkFile)) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    @Test
+    void signupAndAnalysisEventsReachTheFileSink() throws Exception {
+        String token = signUp("outboxuser");
+        mockMvc.perform(post("/api/ai/analyze")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "userId", 0,
+                                "content", "Java developer with Spring Boot experience",
+                                "analysisType", "resume"))))
+                .andExpect(status().isOk());
+        assertEquals(2, repository.count());
+
+        assertEquals(2, relay.relay());
+        assertEquals(0, repository.count());
+
+        List<JsonNode> lines = sinkLines();
+        assertEquals(List.of(OutboxService.USER_REGISTERED, OutboxService.ANALYSIS_COMPLETED),
+                lines.stream().map(line -> line.get("type").asText()).toList());
+        assertEquals("outboxuser@example.com", lines.get(0).get("payload").get("email").asText());
+        assertEquals("ROLE_CANDIDATE", lines.get(0).get("payload").get("roles").get(0).asText());
+        assertEquals(lines.get(0).get("payload").get("userId").asLong(),
+                lines.get(1).get("payload").get("userId").asLong());
+        assertTrue(lines.get(0).get("id").asLong() < lines.get(1).get("id").asLong());
+    }
+
+    @Test
+    void streamedAnalysesAreRecordedToo() throws Exception {
+        String token = signUp("outboxstreamer");
+        relay.relay();
+        Files.deleteIfExists(sinkFile);
+
+        String analysis = mockMvc.perform(post("/api/ai/analyze")
+                        .param("stream", "true")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "content", "Java developer with Spring Boot experience",
+                                "analysisType", "resume"))))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertEquals(1, relay.relay());
+        List<JsonNode> lines = sinkLines();
+        assertEquals(1, lines.size());
+        assertEquals(OutboxService.ANALYSIS_COMPLETED, lines.get(0).get("type").asText());
+        assertEquals(objectMapper.readTree(analysis).get("analysisId").asText(),
+                lines.get(0).get("aggregateId").asText());
+    }
+
+    @Test
+    void eventsYoungerThanTheSettleTimeWait() {
+        outboxService.record("test", 1, "test.event", Map.of("n", 1));
+        OutboxRelay settlingRelay = new OutboxRelay(repository, List.of(), jdbcTemplate, transactionTemplate,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(settlingRelay, "batchSize", 10);
+        ReflectionTestUtils.setField(settlingRelay, "maxBatchesPerPoll", 10);
+        ReflectionTestUtils.setField(settlingRelay, "settleMs", 60_000L);
+
+        assertEquals(0, settlingRelay.relay());
+        assertEquals(1, repository.count());
+        assertEquals(1, relay.relay());
+    }
+
+    @Test
+    void failedBatchesAreRetriedInOrder() {
+        for (int i = 0; i < 5; i++) {
+            outboxService.record("test", i, "test.event", Map.of("n", i));
+        }
+        List<Long> received = new ArrayList<>();
+        boolean[] failing = {true};
+        OutboxSink flaky = new OutboxSink() {
+            @Override
+            public String name() {
+                return "flaky";
+            }
+
+            @Override
+            public void publish(List<OutboxEvent> events) throws IOException {
+                for (OutboxEvent event : events) {
+                    received.add(event.getId());
+                }
+                if (failing[0]) {
+                    throw new IOException("sink unavailable");
+                }
+            }
+        };
+        OutboxRelay flakyRelay = new OutboxRelay(repository, List.of(flaky), jdbcTemplate, transactionTemplate,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(flakyRelay, "batchSize", 2);
+        ReflectionTestUtils.setField(flakyRelay, "maxBatchesPerPoll", 10);
+
+        assertEquals(0, flakyRelay.relay());
+        assertEquals(5, repository.count());
+
+        failing[0] = false;
+        assertEquals(5, flakyRelay.relay());
+        assertEquals(0, repository.count());
+        // The first batch twice, then everything once, in id order
+        assertEquals(received.subList(0, 2), received.subList(2, 4));
+        List<Long> delivered = received.subList(2, received.size());
+        assertEquals(5, delivered.size());
+        assertEquals(delivered.stream().sorted().toList(), delivered);
+    }
+}
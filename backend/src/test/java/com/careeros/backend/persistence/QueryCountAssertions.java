@@ -0,0 +1,47 @@
+package com.careeros.backend.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts an upper bound on the SQL statements a block of code makes Hibernate prepare,
+ * using the session factory's statistics. Counts are global, so the block should not
+ * overlap with other database work.
+ */
+public final class QueryCountAssertions {
+
+    @FunctionalInterface
+    public interface Action<T> {
+        T run() throws Exception;
+    }
+
+    private final Statistics statistics;
+
+    public QueryCountAssertions(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Run the action and fail if it prepared more than maxStatements statements
+     */
+    public <T> T assertMaxQueries(String flow, long maxStatements, Action<T> action) throws Exception {
+        statistics.clear();
+        T result = action.run();
+        long statements = statistics.getPrepareStatementCount();
+        if (statements > maxStatements) {
+            fail(String.format("%s prepared %d SQL statements, expected at most %d "
+                            + "(queries=%d, entity loads=%d, entity fetches=%d, collection fetches=%d, inserts=%d)",
+                    flow, statements, maxStatements,
+                    statistics.getQueryExecutionCount(),
+                    statistics.getEntityLoadCount(),
+                    statistics.getEntityFetchCount(),
+                    statistics.getCollectionFetchCount(),
+                    statistics.getEntityInsertCount()));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,115 @@
+package com.careeros.backend.persistence;
+
+import com.careeros.backend.loadtest.AIStubServer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query-count budgets for the hot flows. Raising a budget should be a deliberate
+ * change reviewed alongside the code that needs the extra statements.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class QueryCountTest {
+
+    private static final AIStubServer aiStub = new AIStubServer(1, 1, 0, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private QueryCountAssertions queries;
+
+    @DynamicPropertySource
+    static void aiServiceUrl(DynamicPropertyRegistry registry) throws IOException {
+        aiStub.start();
+        registry.add("ai.service.url", aiStub::url);
+    }
+
+    @AfterAll
+    static void stopStub() {
+        aiStub.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        queries = new QueryCountAssertions(entityManagerFactory);
+    }
+
+    @Test
+    void signupStaysWithinBudget() throws Exception {
+        // Two existence checks, the user and its roles, and the user.registered outbox event
+        queries.assertMaxQueries("signup", 5, () -> signup("qcsignup"));
+    }
+
+    @Test
+    void signinStaysWithinBudget() throws Exception {
+        signup("qcsignin");
+        queries.assertMaxQueries("signin", 2, () -> signin("qcsignin"));
+    }
+
+    @Test
+    void authenticatedAICallStaysWithinBudget() throws Exception {
+        signup("qcanalyze");
+        String token = signin("qcanalyze");
+        // User lookup with its roles, and the analysis.completed outbox event
+        queries.assertMaxQueries("analyze", 3, () -> mockMvc.perform(post("/api/ai/analyze")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "userId", 0,
+                                "content", "Java developer with Spring Boot experience",
+                                "analysisType", "resume"))))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+
+    private MvcResult signup(String username) throws Exception {
+        return mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "email", username + "@querycount.local",
+                                "firstName", "Query",
+                                "lastName", "Count",
+                                "password", "password123",
+                                "role", List.of("candidate")))))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private String signin(String username) throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", username,
+                                "password", "password123"))))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readTree(result.getResponse().getContentAsString()).path("token").asText();
+    }
+}
@@ -0,0 +1,128 @@
+package com.careeros.backend.persistence;
+
+import com.careeros.backend.security.UserDetailsImpl;
+import com.careeros.backend.security.UserDetailsServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routing against two local databases: the primary H2 instance gets the schema from
+ * Hibernate, the replica gets a copy of it but no replicated rows, which makes every
+ * read that lands on it visible.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.warmup.enabled=false",
+        "ai.service.url=http://localhost:8000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("loadtest")
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void copySchemaToReplica() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        if (replica.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'USERS'", Integer.class) > 0) {
+            return;
+        }
+        List<String> ddl = new JdbcTemplate(primaryDataSource).queryForList("SCRIPT NODATA", String.class);
+        for (String statement : ddl) {
+            if (!statement.startsWith("CREATE USER")) {
+                replica.execute(statement);
+            }
+        }
+    }
+
+    @Test
+    void readOnlyLookupGoesToReplica() {
+        JdbcTemplate replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO users (id, username, email, first_name, last_name, password) "
+                + "VALUES (9001, 'replicaonly', 'replicaonly@test.local', 'Replica', 'Only', 'x')");
+        replica.update("INSERT INTO user_roles (user_id, role) VALUES (9001, 'ROLE_CANDIDATE')");
+
+        assertEquals(9001L, ((UserDetailsImpl)
+                userDetailsService.loadUserByUsername("replicaonly")).getId());
+    }
+
+    @Test
+    void signinRightAfterSignupReadsItsOwnWrite() throws Exception {
+        mockMvc.perform(post("/api/auth/signup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", "rywuser",
+                                "email", "rywuser@test.local",
+                                "firstName", "Read",
+                                "lastName", "Write",
+                                "password", "password123",
+                                "role", List.of("candidate")))))
+                .andExpect(status().isOk());
+
+        assertEquals(0, new JdbcTemplate(replicaDataSource).queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username = 'rywuser'", Integer.class));
+
+        mockMvc.perform(post("/api/auth/signin")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(Map.of(
+                                "username", "rywuser",
+                                "password", "password123"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void userWrittenThroughAnotherInstanceIsFoundOnThePrimary() {
+        // Signed up elsewhere: this instance never saw the write, and the replica lags
+        JdbcTemplate primary = new JdbcTemplate(primaryDataSource);
+        primary.update("INSERT INTO users (id, username, email, first_name, last_name, password) "
+                + "VALUES (9002, 'otherinstance', 'otherinstance@test.local', 'Other', 'Instance', 'x')");
+        primary.update("INSERT INTO user_roles (user_id, role) VALUES (9002, 'ROLE_CANDIDATE')");
+
+        assertEquals(9002L, ((UserDetailsImpl)
+                userDetailsService.loadUserByUsername("otherinstance")).getId());
+    }
+
+    @Test
+    void eachPoolHasItsOwnMetrics() {
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections").tag("pool", "replica").gauge());
+    }
+}
@@ -0,0 +1,152 @@
+package com.careeros.backend.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthAuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuthAuditLog auditLog(int bufferSize, String overflow, JdbcTemplate jdbcTemplate) {
+        AuthAuditLog auditLog = new AuthAuditLog(objectMapper, jdbcTemplate, meterRegistry);
+        ReflectionTestUtils.setField(auditLog, "enabled", true);
+        ReflectionTestUtils.setField(auditLog, "bufferSize", bufferSize);
+        ReflectionTestUtils.setField(auditLog, "batchSize", 64);
+        ReflectionTestUtils.setField(auditLog, "overflow", overflow);
+        ReflectionTestUtils.setField(auditLog, "maxBlockMs", 10_000L);
+        ReflectionTestUtils.setField(auditLog, "filePath", dir.resolve("auth-audit.log").toString());
+        ReflectionTestUtils.setField(auditLog, "fileMaxBytes", 10_000_000L);
+        ReflectionTestUtils.setField(auditLog, "fileMaxFiles", 2);
+        ReflectionTestUtils.setField(auditLog, "jdbcEnabled", jdbcTemplate != null);
+        return auditLog;
+    }
+
+    private List<JsonNode> lines(Path file) throws Exception {
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+
+    private double events(String outcome) {
+        return meterRegistry.counter("auth.audit.events", "outcome", outcome).count();
+    }
+
+    @Test
+    void fullBufferDropsAndCountsEvents() throws Exception {
+        AuthAuditLog auditLog = auditLog(4, "drop", null);
+        auditLog.open();
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i < 4, auditLog.publish(AuthAuditEvent.Type.LOGIN_FAILED, "user" + i, null,
+                    "10.0.0.1", "BadCredentialsException"));
+        }
+        assertEquals(4, events("published"));
+        assertEquals(2, events("dropped"));
+        assertEquals(4, auditLog.backlog());
+
+        auditLog.startWriter();
+        auditLog.stop();
+        List<JsonNode> lines = lines(dir.resolve("auth-audit.log"));
+        assertEquals(List.of("user0", "user1", "user2", "user3"),
+                lines.stream().map(line -> line.get("username").asText()).toList());
+        assertEquals("LOGIN_FAILED", lines.get(0).get("type").asText());
+        assertFalse(lines.get(0).has("userId"));
+        assertEquals(4, meterRegistry.counter("auth.audit.written", "sink", "file").count());
+    }
+
+    @Test
+    void blockingProducersLoseNothingAndKeepTheirOrder() throws Exception {
+        AuthAuditLog auditLog = auditLog(8, "block", null);
+        auditLog.start();
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < 4; p++) {
+            String producer = "p" + p;
+            producers.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    auditLog.publish(AuthAuditEvent.Type.SIGN_IN, producer, (long) i, "10.0.0.1", null);
+                }
+            }));
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        auditLog.stop();
+
+        assertEquals(0, events("dropped"));
+        Map<String, Long> lastIdByProducer = new HashMap<>();
+        List<JsonNode> lines = lines(dir.resolve("auth-audit.log"));
+        assertEquals(8000, lines.size());
+        for (JsonNode line : lines) {
+            long id = line.get("userId").asLong();
+            Long previous = lastIdByProducer.put(line.get("username").asText(), id);
+            assertEquals(previous == null ? 0 : previous + 1, id);
+        }
+    }
+
+    @Test
+    void fileRotatesBySize() throws Exception {
+        AuthAuditLog auditLog = auditLog(1024, "block", null);
+        ReflectionTestUtils.setField(auditLog, "fileMaxBytes", 2_000L);
+        ReflectionTestUtils.setField(auditLog, "batchSize", 4);
+        auditLog.start();
+        for (int i = 0; i < 200; i++) {
+            auditLog.publish(AuthAuditEvent.Type.LOGOUT, "user" + i, (long) i, "10.0.0.1", null);
+        }
+        auditLog.stop();
+
+        Path file = dir.resolve("auth-audit.log");
+        assertTrue(Files.size(file) <= 2_000);
+        assertTrue(Files.size(dir.resolve("auth-audit.log.1")) <= 2_000);
+        assertTrue(Files.exists(dir.resolve("auth-audit.log.2")));
+        assertFalse(Files.exists(dir.resolve("auth-audit.log.3")));
+        assertEquals("user199", lines(file).get(lines(file).size() - 1).get("username").asText());
+    }
+
+    @Test
+    void eventsAreInsertedWhenJdbcIsEnabled() throws Exception {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource("jdbc:h2:mem:audit;DB_CLOSE_DELAY=-1"));
+        jdbcTemplate.execute("CREATE TABLE auth_audit_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "occurred_at TIMESTAMP NOT NULL, event_type VARCHAR(20) NOT NULL, username VARCHAR(200), "
+                + "user_id BIGINT, remote_address VARCHAR(200), detail VARCHAR(200))");
+        AuthAuditLog auditLog = auditLog(16, "drop", jdbcTemplate);
+        auditLog.start();
+        auditLog.publish(AuthAuditEvent.Type.SIGN_IN, "alice", 7L, "10.0.0.2", null);
+        auditLog.publish(AuthAuditEvent.Type.TOKEN_REJECTED, null, null, "10.0.0.3", "invalid token");
+        auditLog.stop();
+
+        assertEquals(List.of(Map.of("EVENT_TYPE", "SIGN_IN", "USER_ID", 7L),
+                        Map.of("EVENT_TYPE", "TOKEN_REJECTED", "DETAIL", "invalid token")),
+                jdbcTemplate.queryForList("SELECT event_type, user_id, detail FROM auth_audit_events ORDER BY id")
+                        .stream()
+                        .map(row -> {
+                            Map<String, Object> present = new HashMap<>(row);
+                            present.values().removeIf(value -> value == null);
+                            return present;
+                        })
+                        .toList());
+        assertEquals(2, meterRegistry.counter("auth.audit.written", "sink", "jdbc").count());
+    }
+}
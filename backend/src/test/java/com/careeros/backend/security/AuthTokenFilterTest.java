@@ -0,0 +1,98 @@
+package com.careeros.backend.security;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tokens the filter must turn away: a wrong-key signature is a rejected token, audited
+ * as such, not a filter error.
+ */
+class AuthTokenFilterTest {
+
+    private static final String SECRET = "filterTestSecretKey123456789filterTestSecretKey123456789filterTestKey";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final JwtUtils jwtUtils = jwtUtils(SECRET, meterRegistry);
+
+    private final UserDetailsServiceImpl userDetailsService = Mockito.mock(UserDetailsServiceImpl.class);
+
+    private final AuthAuditLog authAuditLog = Mockito.mock(AuthAuditLog.class);
+
+    private final AuthTokenFilter filter = new AuthTokenFilter();
+
+    private final ListAppender<ILoggingEvent> logs = new ListAppender<>();
+
+    AuthTokenFilterTest() {
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", userDetailsService);
+        ReflectionTestUtils.setField(filter, "authAuditLog", authAuditLog);
+        logs.start();
+        for (Class<?> type : List.of(AuthTokenFilter.class, JwtUtils.class)) {
+            ((Logger) LoggerFactory.getLogger(type)).addAppender(logs);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        for (Class<?> type : List.of(AuthTokenFilter.class, JwtUtils.class)) {
+            ((Logger) LoggerFactory.getLogger(type)).detachAppender(logs);
+        }
+        SecurityContextHolder.clearContext();
+    }
+
+    private static JwtUtils jwtUtils(String secret, SimpleMeterRegistry meterRegistry) {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", secret);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "registerMetrics", meterRegistry);
+        return jwtUtils;
+    }
+
+    private static String token(JwtUtils issuer) {
+        UserDetailsImpl user = new UserDetailsImpl(1L, "johndoe", "john@example.com", "John", "Doe", "",
+                List.of(new SimpleGrantedAuthority("ROLE_CANDIDATE")));
+        return issuer.generateJwtToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejectedAndAudited() throws Exception {
+        String forged = token(jwtUtils(SECRET.replace("filter", "forged"), new SimpleMeterRegistry()));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/usage");
+        request.addHeader("Authorization", "Bearer " + forged);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertEquals(request, chain.getRequest());
+        Mockito.verify(authAuditLog).publish(AuthAuditEvent.Type.TOKEN_REJECTED, null, null,
+                request.getRemoteAddr(), "invalid token");
+        Mockito.verifyNoInteractions(userDetailsService);
+        assertEquals(1, meterRegistry.get("auth.jwt.verify").tag("outcome", "invalid").timer().count());
+        assertTrue(logs.list.stream().noneMatch(event -> event.getThrowableProxy() != null),
+                "rejections are logged without a stack trace");
+        assertTrue(logs.list.stream().noneMatch(event -> event.getLoggerName().equals(AuthTokenFilter.class.getName())
+                && event.getLevel() == Level.ERROR), "a rejected token is not a filter error");
+    }
+}
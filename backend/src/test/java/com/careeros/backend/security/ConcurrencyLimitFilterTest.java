@@ -0,0 +1,59 @@
+package com.careeros.backend.security;
+
+import com.careeros.backend.config.ConcurrencyLimitProperties;
+import com.careeros.backend.service.AdaptiveConcurrencyLimiter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+/**
+ * Which responses count as dropped requests for the adaptive limits
+ */
+class ConcurrencyLimitFilterTest {
+
+    private final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter();
+
+    private final Map<String, AdaptiveConcurrencyLimiter> limiters;
+
+    @SuppressWarnings("unchecked")
+    ConcurrencyLimitFilterTest() {
+        ReflectionTestUtils.setField(filter, "properties", new ConcurrencyLimitProperties());
+        ReflectionTestUtils.setField(filter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.invokeMethod(filter, "createLimiters");
+        limiters = (Map<String, AdaptiveConcurrencyLimiter>) ReflectionTestUtils.getField(filter, "limiters");
+        limiters.replaceAll((group, limiter) -> Mockito.spy(limiter));
+    }
+
+    private void respond(String uri, int status) throws Exception {
+        FilterChain chain = (request, response) -> ((HttpServletResponse) response).setStatus(status);
+        filter.doFilter(new MockHttpServletRequest("GET", uri), new MockHttpServletResponse(), chain);
+    }
+
+    @Test
+    void healthReportingDownIsNotOverload() throws Exception {
+        respond("/actuator/health/readiness", 503);
+        Mockito.verify(limiters.get("health")).release(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(false));
+
+        respond("/actuator/health", 504);
+        Mockito.verify(limiters.get("health")).release(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(true));
+    }
+
+    @Test
+    void unavailableApplicationEndpointsAreOverload() throws Exception {
+        respond("/api/ai/analyze", 503);
+        Mockito.verify(limiters.get("ai")).release(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(true));
+
+        respond("/api/auth/signin", 200);
+        Mockito.verify(limiters.get("auth")).release(ArgumentMatchers.anyLong(), ArgumentMatchers.eq(false));
+    }
+}
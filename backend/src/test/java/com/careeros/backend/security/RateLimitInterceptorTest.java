@@ -0,0 +1,77 @@
+package com.careeros.backend.security;
+
+import com.careeros.backend.config.RateLimitProperties;
+import com.careeros.backend.service.RateLimiterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimitInterceptorTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor();
+
+    RateLimitInterceptorTest() {
+        properties.setDefaultLimit(new RateLimitProperties.Limit(2, 1));
+        ReflectionTestUtils.setField(interceptor, "rateLimiterService", new RateLimiterService(properties));
+        ReflectionTestUtils.setField(interceptor, "objectMapper", new ObjectMapper());
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void signIn(long userId) {
+        UserDetailsImpl user = new UserDetailsImpl(userId, "user" + userId, "user@example.com", "A", "B", "",
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @Test
+    void setsHeadersAndRejectsOnceTheBurstIsUsed() throws Exception {
+        signIn(1);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals("2", response.getHeader("RateLimit-Limit"));
+        assertEquals("1", response.getHeader("RateLimit-Remaining"));
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null));
+
+        response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(429, response.getStatus());
+        assertEquals("0", response.getHeader("RateLimit-Remaining"));
+        assertTrue(Long.parseLong(response.getHeader("Retry-After")) > 0);
+        assertTrue(response.getContentAsString().contains("Too many AI requests"));
+    }
+
+    @Test
+    void anonymousAndUnlimitedRequestsPassWithoutHeaders() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertNull(response.getHeader("RateLimit-Limit"));
+
+        properties.setEnabled(false);
+        signIn(1);
+        for (int i = 0; i < 5; i++) {
+            response = new MockHttpServletResponse();
+            assertTrue(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        }
+        assertNull(response.getHeader("RateLimit-Limit"));
+    }
+}
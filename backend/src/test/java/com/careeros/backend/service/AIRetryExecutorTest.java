@@ -0,0 +1,130 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.AISchedulerProperties;
+import com.careeros.backend.security.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AIRetryExecutorTest {
+
+    private final AISchedulerProperties properties = new AISchedulerProperties();
+
+    private final AIScheduler scheduler;
+
+    private final AIRetryExecutor retryExecutor;
+
+    AIRetryExecutorTest() {
+        properties.setMaxConcurrency(1);
+        scheduler = new AIScheduler(properties, new SimpleMeterRegistry());
+        retryExecutor = new AIRetryExecutor(scheduler);
+        ReflectionTestUtils.setField(retryExecutor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryExecutor, "baseDelayMs", 0L);
+        ReflectionTestUtils.setField(retryExecutor, "budgetMaxTokens", 20L);
+        ReflectionTestUtils.invokeMethod(retryExecutor, "fillBudget");
+    }
+
+    private static HttpServerErrorException status(HttpStatus status) {
+        return HttpServerErrorException.create(status, status.getReasonPhrase(), null, null, null);
+    }
+
+    private static UserDetailsImpl user(long id) {
+        return new UserDetailsImpl(id, "user" + id, "user@example.com", "A", "B", "",
+                List.of(new SimpleGrantedAuthority("ROLE_CANDIDATE")));
+    }
+
+    @Test
+    void postsAreOnlyRetriedWhenTheUpstreamCannotHaveProcessedThem() {
+        assertTrue(AIRetryExecutor.isRetryable(status(HttpStatus.SERVICE_UNAVAILABLE), false));
+        assertTrue(AIRetryExecutor.isRetryable(new ResourceAccessException("refused", new ConnectException()), false));
+
+        assertFalse(AIRetryExecutor.isRetryable(status(HttpStatus.BAD_GATEWAY), false));
+        assertFalse(AIRetryExecutor.isRetryable(status(HttpStatus.GATEWAY_TIMEOUT), false));
+        assertFalse(AIRetryExecutor.isRetryable(status(HttpStatus.INTERNAL_SERVER_ERROR), false));
+        assertFalse(AIRetryExecutor.isRetryable(
+                new ResourceAccessException("timeout", new SocketTimeoutException()), false));
+
+        assertTrue(AIRetryExecutor.isRetryable(status(HttpStatus.GATEWAY_TIMEOUT), true));
+        assertTrue(AIRetryExecutor.isRetryable(new ResourceAccessException("timeout", new SocketTimeoutException()),
+                true));
+    }
+
+    @Test
+    void retriesUntilSuccessWithinTheAttemptLimit() {
+        AtomicInteger attempts = new AtomicInteger();
+        assertEquals("ok", retryExecutor.execute("analyze", false, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw status(HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            return "ok";
+        }));
+
+        attempts.set(0);
+        assertThrows(HttpServerErrorException.class, () -> retryExecutor.execute("analyze", false, () -> {
+            attempts.incrementAndGet();
+            throw status(HttpStatus.BAD_GATEWAY);
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void backoffGivesUpTheSchedulerSlot() throws Exception {
+        CountDownLatch holdingSlot = new CountDownLatch(1);
+        CountDownLatch otherQueued = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // One slot. The first call's first attempt fails while a second call is queued:
+        // the slot goes to the queued call during the backoff, and the retry queues behind it.
+        CompletableFuture<String> retried = CompletableFuture.supplyAsync(() -> scheduler.run(user(1),
+                () -> retryExecutor.execute("analyze", false, () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        holdingSlot.countDown();
+                        await(otherQueued);
+                        throw status(HttpStatus.SERVICE_UNAVAILABLE);
+                    }
+                    order.add("retried");
+                    return "retried";
+                })));
+        assertTrue(holdingSlot.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> other = CompletableFuture.supplyAsync(() -> scheduler.run(user(2), () -> {
+            order.add("other");
+            return "other";
+        }));
+        while (!Integer.valueOf(1).equals(scheduler.snapshot().get("queued"))) {
+            Thread.sleep(1);
+        }
+        otherQueued.countDown();
+
+        assertEquals("retried", retried.get(5, TimeUnit.SECONDS));
+        assertEquals("other", other.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("other", "retried"), order);
+        assertEquals(0, scheduler.snapshot().get("inFlight"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.AISchedulerProperties;
+import com.careeros.backend.security.UserDetailsImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AISchedulerTest {
+
+    private final AISchedulerProperties properties = new AISchedulerProperties();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<String> order = new CopyOnWriteArrayList<>();
+
+    private final CountDownLatch unblock = new CountDownLatch(1);
+
+    private AIScheduler scheduler;
+
+    AISchedulerTest() {
+        properties.setMaxConcurrency(1);
+        properties.setMaxQueue(10);
+    }
+
+    @AfterEach
+    void shutDown() {
+        unblock.countDown();
+        executor.shutdownNow();
+    }
+
+    private static UserDetailsImpl user(long id) {
+        return new UserDetailsImpl(id, "user" + id, "user@example.com", "A", "B", "",
+                List.of(new SimpleGrantedAuthority("ROLE_CANDIDATE")));
+    }
+
+    private int queued() {
+        return (Integer) scheduler.snapshot().get("queued");
+    }
+
+    /** Occupy the only slot until unblock is counted down */
+    private void block() throws InterruptedException {
+        scheduler = new AIScheduler(properties, new SimpleMeterRegistry());
+        CountDownLatch running = new CountDownLatch(1);
+        CompletableFuture.supplyAsync(() -> scheduler.run(user(0), () -> {
+            running.countDown();
+            try {
+                unblock.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return "blocker";
+        }), executor);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+    }
+
+    private CompletableFuture<String> start(long userId, String name) {
+        return CompletableFuture.supplyAsync(() -> scheduler.run(user(userId), () -> {
+            order.add(name);
+            return name;
+        }), executor);
+    }
+
+    /** Submit a call and wait until it is queued */
+    private CompletableFuture<String> submit(long userId, String name) throws InterruptedException {
+        int before = queued();
+        CompletableFuture<String> call = start(userId, name);
+        while (queued() == before && !call.isDone()) {
+            Thread.sleep(1);
+        }
+        return call;
+    }
+
+    @Test
+    void burstOnlyCompetesWithItsOwnBacklog() throws Exception {
+        block();
+        List<CompletableFuture<String>> calls = List.of(
+                submit(1, "a1"), submit(1, "a2"), submit(1, "a3"), submit(2, "b1"));
+        assertEquals(4, queued());
+
+        unblock.countDown();
+        for (CompletableFuture<String> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        assertEquals(List.of("a1", "b1", "a2", "a3"), order);
+        assertEquals(0, scheduler.snapshot().get("inFlight"));
+    }
+
+    @Test
+    void fullQueueShedsTheLargestTag() throws Exception {
+        properties.setMaxQueue(2);
+        block();
+        CompletableFuture<String> a1 = submit(1, "a1");
+        CompletableFuture<String> a2 = submit(1, "a2");
+        // b1's tag is smaller than a2's, so a2 makes room for it
+        CompletableFuture<String> b1 = start(2, "b1");
+        ExecutionException shed = assertThrows(ExecutionException.class, () -> a2.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AIServiceUnavailableException.class, shed.getCause());
+        // Queue full of tags no larger than c1's: c1 itself is shed
+        assertThrows(AIServiceUnavailableException.class, () -> scheduler.run(user(3), () -> "c1"));
+
+        unblock.countDown();
+        a1.get(5, TimeUnit.SECONDS);
+        b1.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("a1", "b1"), order);
+    }
+
+    @Test
+    void waiterThatTimesOutDoesNotPushItsUserBack() throws Exception {
+        properties.setMaxWaitMs(50);
+        block();
+        CompletableFuture<String> timedOut = submit(1, "a1");
+        ExecutionException shed = assertThrows(ExecutionException.class, () -> timedOut.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(AIServiceUnavailableException.class, shed.getCause());
+
+        // a2 gets the tag a1 would have had, so it still goes ahead of b1, queued after it
+        properties.setMaxWaitMs(5000);
+        CompletableFuture<String> a2 = submit(1, "a2");
+        CompletableFuture<String> b1 = submit(2, "b1");
+        unblock.countDown();
+        a2.get(5, TimeUnit.SECONDS);
+        b1.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("a2", "b1"), order);
+    }
+
+    @Test
+    void queueIsCappedByServerThreads() {
+        properties.setMaxConcurrency(16);
+        properties.setMaxQueue(48);
+        scheduler = new AIScheduler(properties, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(scheduler, "serverThreads", 40);
+        scheduler.limitQueueToServerThreads();
+        assertEquals(4, ReflectionTestUtils.getField(scheduler, "maxQueue"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.careeros.backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MS = 1_000_000;
+
+    // Zero-length windows of 10 samples, so every 10 releases recalculate the limit
+    private static AdaptiveConcurrencyLimiter limiter(int initialLimit) {
+        return new AdaptiveConcurrencyLimiter("test", initialLimit, 2, 100, 1.5, 0.5, 0, 10, 10);
+    }
+
+    /** Runs windows with the limiter saturated, every request taking latencyMs */
+    private static void saturate(AdaptiveConcurrencyLimiter limiter, int windows, long latencyMs, boolean dropped) {
+        for (int w = 0; w < windows; w++) {
+            int admitted = 0;
+            while (limiter.tryAcquire()) {
+                admitted++;
+            }
+            for (int i = 0; i < Math.max(admitted, 10); i++) {
+                if (i >= admitted) {
+                    limiter.tryAcquire();
+                }
+                limiter.release(latencyMs * MS, dropped);
+            }
+        }
+    }
+
+    @Test
+    void rejectsOnceTheLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = limiter(3);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release(10 * MS, false);
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void growsWhileLatencyHoldsSteady() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10);
+        saturate(limiter, 20, 50, false);
+        assertTrue(limiter.getLimit() > 10, "limit was " + limiter.getLimit());
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        saturate(limiter, 5, 50, false);
+        int before = limiter.getLimit();
+        // Before the long-term average has caught up with the new latency
+        saturate(limiter, 1, 500, false);
+        assertTrue(limiter.getLimit() < before, before + " -> " + limiter.getLimit());
+    }
+
+    @Test
+    void backsOffOnFailures() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40);
+        saturate(limiter, 10, 50, true);
+        assertTrue(limiter.getLimit() < 40, "limit was " + limiter.getLimit());
+    }
+}
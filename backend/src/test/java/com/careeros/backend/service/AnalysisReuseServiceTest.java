@@ -0,0 +1,107 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.payload.request.AIAnalysisRequest;
+import com.careeros.backend.payload.response.AIAnalysisResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalysisReuseServiceTest {
+
+    private static final String RESUME = """
+            Jane Doe, Senior Software Engineer. Experience: Acme Corp, 2019 to 2024, led the migration
+            of a monolith to Spring Boot microservices on Kubernetes, cut p99 latency by forty percent and
+            mentored six engineers. Before that, Initech, 2015 to 2019, built Kafka data pipelines in Java
+            and Python and owned the on-call rotation. Education: BSc Computer Science, State University.
+            Skills: Java, Spring, Kubernetes, Docker, Kafka, PostgreSQL, AWS, Terraform, Python, React.
+            Projects: designed the payments reconciliation service that settles two million transactions a
+            day, introduced contract testing between twelve teams, replaced nightly batch jobs with streaming
+            consumers and wrote the internal guide to zero downtime database migrations. Speaker at two
+            regional Java conferences on observability, open source contributor to a Kafka connector, and
+            organiser of the company hackathon. Looking for a staff engineer or engineering manager role in
+            a product company that values reliability, mentoring and pragmatic architecture decisions.
+            """;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AnalysisReuseService service;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new AnalysisReuseService(meterRegistry);
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "threshold", 0.9);
+        service.setMode("reuse");
+        ReflectionTestUtils.setField(service, "ttlMs", 86_400_000L);
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+    }
+
+    private AnalysisReuseService.Result analyze(long userId, String content) {
+        AIAnalysisRequest request = new AIAnalysisRequest();
+        request.setContent(content);
+        request.setAnalysisType("resume");
+        return analyze(userId, request);
+    }
+
+    private AnalysisReuseService.Result analyze(long userId, AIAnalysisRequest request) {
+        return service.analyze(userId, request, () -> new AIAnalysisResponse("analysis-" + calls.incrementAndGet(),
+                (int) userId, request.getContent(), request.getAnalysisType(), Map.of("score", 80), 0.9, 10,
+                LocalDateTime.now(), "completed"));
+    }
+
+    @Test
+    void editedResumeReusesTheEarlierAnalysis() {
+        assertNull(analyze(1, RESUME).reusedAnalysisId());
+
+        String edited = RESUME.replace("2019 to 2024", "2019 to 2025");
+        AnalysisReuseService.Result result = analyze(1, edited);
+        assertEquals("analysis-1", result.reusedAnalysisId());
+        assertEquals(edited, result.response().getContent());
+        assertEquals(1, calls.get());
+        assertEquals(0.5, service.hitRatio(), 1e-9);
+    }
+
+    @Test
+    void otherUsersAndDifferentContentMiss() {
+        analyze(1, RESUME);
+        assertNull(analyze(2, RESUME).reusedAnalysisId());
+        assertNull(analyze(1, "John Smith, nurse. Ten years in intensive care at City Hospital, "
+                + "trained new staff on ventilator management and patient triage.").reusedAnalysisId());
+        assertEquals(3, calls.get());
+        assertEquals(3, meterRegistry.counter("ai.analyze.near_duplicate", "outcome", "miss").count());
+    }
+
+    @Test
+    void draftModeSendsTheEarlierResultAlong() {
+        service.setMode("Draft");
+        analyze(1, RESUME);
+
+        AIAnalysisRequest request = new AIAnalysisRequest();
+        request.setContent(RESUME + " Certified Kubernetes Administrator.");
+        request.setAnalysisType("resume");
+        AnalysisReuseService.Result result = analyze(1, request);
+
+        assertNull(result.reusedAnalysisId());
+        assertEquals("analysis-2", result.response().getAnalysisId());
+        assertEquals("analysis-1", request.getParameters().get("draftAnalysisId"));
+        assertEquals(Map.of("score", 80), request.getParameters().get("draftResult"));
+        assertEquals(1, meterRegistry.counter("ai.analyze.near_duplicate", "outcome", "drafted").count());
+    }
+
+    @Test
+    void unknownModeIsRejectedUpFront() {
+        assertThrows(IllegalArgumentException.class, () -> service.setMode("sometimes"));
+    }
+}
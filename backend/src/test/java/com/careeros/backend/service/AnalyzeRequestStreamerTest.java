@@ -0,0 +1,145 @@
+package com.careeros.backend.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AnalyzeRequestStreamerTest {
+
+    private static final int USER_ID = 7;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode stream(String body, long maxContentChars, long maxRequestBytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new AnalyzeRequestStreamer(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), out, USER_ID,
+                maxContentChars, maxRequestBytes).transfer();
+        return objectMapper.readTree(out.toByteArray());
+    }
+
+    private JsonNode stream(String body) throws IOException {
+        return stream(body, 1000, 100_000);
+    }
+
+    @Test
+    void replacesUserIdAndKeepsRequestFields() throws IOException {
+        JsonNode result = stream("""
+                { "userId" : 999, "content": "Java developer \\"senior\\" caf\u00e9",
+                  "analysisType": "resume", "extra": {"ignored": [1, 2]},
+                  "parameters": {"language": "en", "weights": [0.5, -1e3, true, null], "nested": {"a": {}}} }""");
+
+        assertEquals(USER_ID, result.get("userId").asInt());
+        assertEquals("Java developer \"senior\" caf\u00e9", result.get("content").asText());
+        assertEquals("resume", result.get("analysisType").asText());
+        assertEquals(objectMapper.readTree("""
+                {"language": "en", "weights": [0.5, -1e3, true, null], "nested": {"a": {}}}"""),
+                result.get("parameters"));
+        assertFalse(result.has("extra"));
+    }
+
+    @Test
+    void analysisTypeDefaultsLikeTheBoundRequest() throws IOException {
+        assertEquals("general", stream("{\"content\":\"text\"}").get("analysisType").asText());
+    }
+
+    @Test
+    void escapedFieldNamesAreTheSameField() throws IOException {
+        JsonNode result = stream("{\"user\\u0049d\":999,\"cont\\u0065nt\":\"text\"}");
+        assertEquals(USER_ID, result.get("userId").asInt());
+        assertEquals(List.of("userId", "content", "analysisType"), fieldNames(result));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> stream("{\"cont\\u0065nt\":\"" + "x".repeat(11) + "\"}", 10, 100_000));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"content\":\"a\",\"content\":\"b\"}",
+            "{\"content\":\"a\",\"cont\\u0065nt\":\"b\"}",
+            "{\"userId\":1,\"user\\u0049d\":2,\"content\":\"a\"}",
+            "{\"content\":\"a\",\"parameters\":{},\"parameters\":{}}"
+    })
+    void duplicateFieldsAreRejected(String body) {
+        assertThrows(IllegalArgumentException.class, () -> stream(body));
+    }
+
+    @Test
+    void contentLengthCountsDecodedCharacters() throws IOException {
+        // One escaped char, one two-byte char and one surrogate pair: 1 + 1 + 2 UTF-16 chars
+        String content = "\\u00e9\u00e9\ud83d\ude00";
+        assertEquals(content.length() - 5,
+                stream("{\"content\":\"" + content + "\"}", 4, 100_000).get("content").asText().length());
+        assertThrows(IllegalArgumentException.class, () -> stream("{\"content\":\"" + content + "\"}", 3, 100_000));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "{\"content\":\"  \"}",
+            "{\"content\":\"\\n\\t\\u0020\"}",
+            "{\"content\":\"\"}",
+            "{\"analysisType\":\"resume\"}",
+            "{}"
+    })
+    void blankOrMissingContentIsRejected(String body) {
+        assertThrows(IllegalArgumentException.class, () -> stream(body));
+    }
+
+    @Test
+    void nestingAndSizeAreLimited() throws IOException {
+        String deep = "[".repeat(100) + "]".repeat(100);
+        assertThrows(IllegalArgumentException.class,
+                () -> stream("{\"content\":\"a\",\"parameters\":{\"x\":" + deep + "}}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> stream("{\"content\":\"a\",\"ignored\":" + deep + "}"));
+
+        String large = "{\"content\":\"a\",\"parameters\":{\"x\":\"" + "y".repeat(20_000) + "\"}}";
+        assertEquals(20_000, stream(large, 10, 30_000).get("parameters").get("x").asText().length());
+        assertThrows(IllegalArgumentException.class, () -> stream(large, 10, 10_000));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "",
+            "{",
+            "{\"content\":\"abc",
+            "{\"content\":\"abc\\",
+            "{\"content\":\"abc\\u00",
+            "{\"content\":\"a\",",
+            "{\"content\":\"a\",\"parameters\":{\"x\":1",
+            "{\"content\":\"a\",\"parameters\":{\"x\":1,}}",
+            "{\"content\":\"a\",\"parameters\":{\"x\"}}",
+            "{\"content\":\"a\",\"parameters\":{1:2}}",
+            "{\"content\":\"a\",\"parameters\":{\"x\":[1,,2]}}",
+            "{\"content\":\"a\",\"parameters\":{\"x\":tru}}",
+            "{\"content\":\"a\",\"parameters\":{\"x\":01}}",
+            "{\"content\":\"a\\q\"}",
+            "{\"content\":\"a\\u00zz\"}",
+            "{\"content\":\"a\tb\"}",
+            "{\"content\":\"a\"} {}",
+            "{\"content\":\"a\",\"parameters\":\"x\"}",
+            "{\"content\":\"a\",\"analysisType\":{}}",
+            "{\"content\":1}"
+    })
+    void malformedOrTruncatedInputIsRejected(String body) {
+        assertThrows(IllegalArgumentException.class, () -> stream(body));
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+}
@@ -0,0 +1,152 @@
+package com.careeros.backend.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CourseCatalogTest {
+
+    private SkillTaxonomyService taxonomyService;
+
+    private CourseCatalog catalog;
+
+    @BeforeEach
+    void load() throws Exception {
+        taxonomyService = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(taxonomyService, "location", "classpath:taxonomy/skills.csv");
+        taxonomyService.load();
+
+        catalog = new CourseCatalog(taxonomyService, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(catalog, "location", "classpath:taxonomy/courses.csv");
+        catalog.load();
+    }
+
+    private List<Integer> ids(String... terms) {
+        return taxonomyService.normalize(List.of(terms)).ids();
+    }
+
+    private List<String> top(int k, String... skills) {
+        return catalog.topCourses(ids(skills), k).stream().map(CourseCatalog.Course::id).toList();
+    }
+
+    @Test
+    void coursesCoveringMoreGapsRankFirst() {
+        assertEquals(List.of("spring-microservices", "docker-developers", "microservices-patterns"),
+                top(3, "microservices", "docker"));
+
+        Map<String, Object> first = catalog.suggestedCourses(ids("microservices", "docker"), 1).get(0);
+        assertEquals("Microservices with Spring Cloud", first.get("title"));
+        assertEquals(List.of("Microservices", "Docker"), first.get("covers"));
+        assertEquals(List.of(), top(3, "basket weaving"));
+    }
+
+    @Test
+    void updatesReindexOnlyTheChangedCourse() {
+        int size = catalog.size();
+        catalog.upsert(new CourseCatalog.Course("docker-mastery", "Docker Mastery", "Udemy", "3 weeks", 5.0,
+                ids("docker", "microservices")));
+        assertEquals("docker-mastery", top(1, "docker", "microservices").get(0));
+        assertEquals(size + 1, catalog.size());
+
+        catalog.upsert(new CourseCatalog.Course("docker-mastery", "Kubernetes Mastery", "Udemy", "3 weeks", 5.0,
+                ids("kubernetes")));
+        assertFalse(top(10, "docker", "microservices").contains("docker-mastery"));
+        assertEquals("docker-mastery", top(1, "kubernetes").get(0));
+        assertEquals(size + 1, catalog.size());
+
+        assertTrue(catalog.remove("docker-mastery"));
+        assertFalse(catalog.remove("docker-mastery"));
+        assertFalse(top(10, "kubernetes").contains("docker-mastery"));
+        assertEquals(size, catalog.size());
+    }
+
+    @Test
+    void heapAgreesWithSortingAfterManyUpdates() {
+        CourseCatalog catalog = new CourseCatalog(taxonomyService, new DefaultResourceLoader());
+        Random random = new Random(42);
+        Map<String, CourseCatalog.Course> courses = new HashMap<>();
+        List<Integer> skillPool = ids("java", "python", "docker", "kubernetes", "aws", "sql", "react", "git");
+        for (int i = 0; i < 2000; i++) {
+            String id = "c" + random.nextInt(300);
+            if (random.nextInt(5) == 0) {
+                catalog.remove(id);
+                courses.remove(id);
+                continue;
+            }
+            List<Integer> skills = new ArrayList<>();
+            for (int n = 1 + random.nextInt(3); n > 0; n--) {
+                skills.add(skillPool.get(random.nextInt(skillPool.size())));
+            }
+            CourseCatalog.Course course = new CourseCatalog.Course(id, id, "p", "1 week",
+                    1 + random.nextInt(40) / 10.0, skills);
+            catalog.upsert(course);
+            courses.put(id, course);
+        }
+
+        List<Integer> gaps = List.of(skillPool.get(2), skillPool.get(3), skillPool.get(4));
+        List<Double> expected = courses.values().stream()
+                .map(course -> score(course, gaps))
+                .filter(score -> score > 0)
+                .sorted(Comparator.reverseOrder())
+                .limit(10)
+                .toList();
+        List<Double> actual = catalog.topCourses(gaps, 10).stream()
+                .map(course -> score(course, gaps))
+                .toList();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), 1e-4);
+        }
+    }
+
+    private static double score(CourseCatalog.Course course, List<Integer> gaps) {
+        long covered = course.skillIds().stream().filter(gaps::contains).count();
+        return covered * course.rating() / Math.sqrt(course.skillIds().size());
+    }
+
+    @Test
+    void catalogIsReindexedWhenTheTaxonomyIsReloaded(@TempDir Path dir) throws Exception {
+        Path skills = dir.resolve("skills.csv");
+        Path courses = dir.resolve("courses.csv");
+        Files.writeString(skills, "1,Java\n2,Kotlin,jvmlang\n");
+        Files.writeString(courses, "jvm-101,JVM 101,Udemy,1 week,4.5,jvmlang\n");
+        SkillTaxonomyService reloading = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(reloading, "location", "file:" + skills);
+        reloading.load();
+        CourseCatalog fileCatalog = new CourseCatalog(reloading, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(fileCatalog, "location", "file:" + courses);
+        fileCatalog.load();
+        assertEquals(1, fileCatalog.topCourses(List.of(2), 5).size());
+
+        Files.writeString(skills, "1,Java\n2,Kotlin\n3,Scala,jvmlang\n");
+        Files.setLastModifiedTime(skills, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        reloading.reloadIfChanged();
+        assertTrue(fileCatalog.topCourses(List.of(2), 5).isEmpty());
+        assertEquals("jvm-101", fileCatalog.topCourses(List.of(3), 5).get(0).id());
+    }
+
+    @Test
+    void coursesMustUseTaxonomySkills() {
+        assertThrows(IllegalArgumentException.class, () -> CourseCatalog.parse(
+                new StringReader("wizardry,Wizardry 101,Hogwarts,7 years,5.0,Java,Spellcasting\n"),
+                taxonomyService.getTaxonomy()));
+    }
+}
@@ -0,0 +1,97 @@
+package com.careeros.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyServiceTest {
+
+    private final IdempotencyService service = new IdempotencyService(new ObjectMapper());
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    IdempotencyServiceTest() {
+        ReflectionTestUtils.setField(service, "maxEntries", 100);
+        ReflectionTestUtils.setField(service, "maxWaitMs", 200L);
+    }
+
+    private IdempotencyService.Result<Integer> execute(String key, Object request) {
+        return service.execute(1L, "analyze", key, request, calls::incrementAndGet);
+    }
+
+    @Test
+    void repeatedKeyReplaysTheStoredResult() {
+        Map<String, Object> request = Map.of("content", "resume");
+        IdempotencyService.Result<Integer> first = execute("k1", request);
+        IdempotencyService.Result<Integer> second = execute("k1", Map.of("content", "resume"));
+
+        assertFalse(first.replayed());
+        assertTrue(second.replayed());
+        assertEquals(first.value(), second.value());
+        assertEquals(1, calls.get());
+
+        // Keys are per user and operation; no key means no deduplication
+        service.execute(2L, "analyze", "k1", request, calls::incrementAndGet);
+        service.execute(1L, "career-recommendations", "k1", request, calls::incrementAndGet);
+        execute(null, request);
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        execute("k1", Map.of("content", "resume"));
+        IdempotencyKeyException e = assertThrows(IdempotencyKeyException.class,
+                () -> execute("k1", Map.of("content", "another resume")));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void duplicateWaitsForTheOriginalUpToTheLimit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        CompletableFuture<IdempotencyService.Result<Integer>> original = CompletableFuture.supplyAsync(
+                () -> service.execute(1L, "analyze", "k1", "request", () -> {
+                    started.countDown();
+                    try {
+                        finish.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return 42;
+                }));
+        started.await();
+
+        IdempotencyKeyException e = assertThrows(IdempotencyKeyException.class, () -> execute("k1", "request"));
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+
+        CompletableFuture<IdempotencyService.Result<Integer>> duplicate =
+                CompletableFuture.supplyAsync(() -> execute("k1", "request"));
+        finish.countDown();
+        assertEquals(42, original.get().value());
+        assertEquals(42, duplicate.get().value());
+        assertTrue(duplicate.get().replayed());
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void failuresAreNotStored() {
+        assertThrows(AIServiceUnavailableException.class, () -> service.execute(1L, "analyze", "k1", "request", () -> {
+            throw new AIServiceUnavailableException("down");
+        }));
+        IdempotencyService.Result<Integer> retried = execute("k1", "request");
+        assertFalse(retried.replayed());
+        assertEquals(1, calls.get());
+    }
+}
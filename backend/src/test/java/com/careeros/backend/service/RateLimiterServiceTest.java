@@ -0,0 +1,97 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.RateLimitProperties;
+import com.careeros.backend.model.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterServiceTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final List<GrantedAuthority> CANDIDATE = List.of(new SimpleGrantedAuthority("ROLE_CANDIDATE"));
+
+    private static final List<GrantedAuthority> RECRUITER = List.of(new SimpleGrantedAuthority("ROLE_RECRUITER"));
+
+    private final RateLimitProperties properties = new RateLimitProperties();
+
+    private final RateLimiterService service;
+
+    RateLimiterServiceTest() {
+        // Candidates: 3 at once, then one every 10 s. Recruiters: 6 at once, then one every second.
+        properties.getRoles().put(Role.ROLE_CANDIDATE, new RateLimitProperties.Limit(3, 6));
+        properties.getRoles().put(Role.ROLE_RECRUITER, new RateLimitProperties.Limit(6, 60));
+        properties.setIdleEvictionMs(60_000);
+        service = new RateLimiterService(properties);
+    }
+
+    private int admitted(List<GrantedAuthority> authorities, long now) {
+        int admitted = 0;
+        while (service.tryAcquire(1L, authorities, now).allowed()) {
+            admitted++;
+        }
+        return admitted;
+    }
+
+    @Test
+    void burstThenSustainedRate() {
+        long now = 0;
+        RateLimiterService.Decision first = service.tryAcquire(1L, CANDIDATE, now);
+        assertTrue(first.allowed());
+        assertEquals(3, first.limit());
+        assertEquals(2, first.remaining());
+        assertEquals(2, admitted(CANDIDATE, now));
+
+        RateLimiterService.Decision denied = service.tryAcquire(1L, CANDIDATE, now);
+        assertFalse(denied.allowed());
+        assertEquals(0, denied.remaining());
+        assertEquals(10, denied.retryAfterSeconds());
+
+        assertFalse(service.tryAcquire(1L, CANDIDATE, now + 9 * SECOND).allowed());
+        assertTrue(service.tryAcquire(1L, CANDIDATE, now + 10 * SECOND).allowed());
+        // Other users have their own bucket
+        assertTrue(service.tryAcquire(2L, CANDIDATE, now).allowed());
+    }
+
+    @Test
+    void roleChangeTakesEffectWithoutEviction() {
+        assertEquals(3, admitted(CANDIDATE, 0));
+        // The three tokens used as a candidate count against the recruiter burst of six
+        assertEquals(3, admitted(RECRUITER, 0));
+        assertEquals(6, service.tryAcquire(1L, RECRUITER, 0).limit());
+
+        // And back: six tokens owed exceed the candidate burst
+        assertFalse(service.tryAcquire(1L, CANDIDATE, 0).allowed());
+    }
+
+    @Test
+    void evictionNeverHandsOutAnExtraToken() {
+        long now = 0;
+        assertEquals(3, admitted(CANDIDATE, now));
+
+        // Idle long enough to be full again: evicted, and a new bucket starts full
+        now += 120 * SECOND;
+        service.evictIdleBuckets(now);
+        assertEquals(3, admitted(CANDIDATE, now));
+
+        // A bucket still being drawn from is not idle and is kept
+        service.evictIdleBuckets(now);
+        assertFalse(service.tryAcquire(1L, CANDIDATE, now).allowed());
+    }
+
+    @Test
+    void disabledLimitsAdmitEverything() {
+        properties.setEnabled(false);
+        RateLimiterService.Decision decision = service.tryAcquire(1L, CANDIDATE, 0);
+        assertTrue(decision.allowed());
+        assertEquals(Integer.MAX_VALUE, decision.limit());
+    }
+}
@@ -0,0 +1,143 @@
+package com.careeros.backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoleVectorIndexTest {
+
+    @Test
+    void approximateSearchFindsMostOfTheExactTopK(@TempDir Path dir) throws Exception {
+        Random random = new Random(7);
+        List<float[]> vectors = new ArrayList<>();
+        List<String> titles = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            vectors.add(randomVector(random, 32));
+            titles.add("role-" + i);
+        }
+        Path path = dir.resolve("roles.bin");
+        RoleVectorIndex.build(path, vectors, titles, 16, 100, 1L);
+        RoleVectorIndex index = RoleVectorIndex.open(path);
+        assertEquals(5000, index.size());
+        assertEquals(1L, index.fingerprint());
+
+        int found = 0;
+        for (int q = 0; q < 50; q++) {
+            float[] query = randomVector(random, 32);
+            Set<Integer> exact = new HashSet<>();
+            index.exactSearch(query, 10).forEach(hit -> exact.add(hit.role()));
+            for (RoleVectorIndex.Hit hit : index.search(query, 10, 64)) {
+                if (exact.contains(hit.role())) {
+                    found++;
+                }
+            }
+        }
+        double recall = found / 500.0;
+        assertTrue(recall >= 0.9, "recall@10 was " + recall);
+
+        RoleVectorIndex.Hit self = index.search(vectors.get(123), 1, 64).get(0);
+        assertEquals("role-123", self.title());
+        assertEquals(1.0, self.similarity(), 1e-5);
+    }
+
+    @Test
+    void profilesMatchSimilarRolesAndIndexIsReusedAfterRestart(@TempDir Path dir) throws Exception {
+        SkillTaxonomyService taxonomyService = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(taxonomyService, "location", "classpath:taxonomy/skills.csv");
+        taxonomyService.load();
+        Path path = dir.resolve("role-index.bin");
+
+        RoleMatchService service = roleMatchService(taxonomyService, path);
+        List<Integer> skills = taxonomyService.normalize(
+                List.of("java", "spring boot", "sql", "postgres", "rest api", "git")).ids();
+        List<Integer> interests = taxonomyService.normalize(List.of("backend")).ids();
+        assertEquals("Backend Engineer", service.similarRoles(skills, interests, 1).get(0).title());
+
+        FileTime built = FileTime.fromMillis(1_000_000);
+        Files.setLastModifiedTime(path, built);
+        RoleMatchService restarted = roleMatchService(taxonomyService, path);
+        assertEquals(built, Files.getLastModifiedTime(path));
+        assertEquals(service.candidateRoles(skills, interests), restarted.candidateRoles(skills, interests));
+    }
+
+    @Test
+    void noSkillsOrInterestsMeansNoCandidateRoles(@TempDir Path dir) throws Exception {
+        SkillTaxonomyService taxonomyService = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(taxonomyService, "location", "classpath:taxonomy/skills.csv");
+        taxonomyService.load();
+
+        RoleMatchService service = roleMatchService(taxonomyService, dir.resolve("role-index.bin"));
+        assertEquals(List.of(), service.candidateRoles(List.of(), List.of()));
+        assertFalse(service.candidateRoles(List.of(), taxonomyService.normalize(List.of("backend")).ids())
+                .isEmpty());
+    }
+
+    @Test
+    void indexIsRebuiltWhenTheTaxonomyResolvesRolesDifferently(@TempDir Path dir) throws Exception {
+        Path skills = dir.resolve("skills.csv");
+        Path roles = dir.resolve("roles.csv");
+        Path path = dir.resolve("role-index.bin");
+        Files.writeString(skills, "1,Java\n2,Kotlin,jvmlang\n3,Scala\n");
+        Files.writeString(roles, "JVM Developer,,Java,jvmlang\nData Engineer,,Scala\n");
+        SkillTaxonomyService taxonomyService = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(taxonomyService, "location", "file:" + skills);
+        taxonomyService.load();
+        RoleMatchService service = roleMatchService(taxonomyService, path, "file:" + roles);
+        FileTime built = FileTime.fromMillis(1_000_000);
+        Files.setLastModifiedTime(path, built);
+
+        // Same roles file, but jvmlang now means Scala: the reload rebuilds the index
+        Files.writeString(skills, "1,Java\n2,Kotlin\n3,Scala,jvmlang\n");
+        Files.setLastModifiedTime(skills, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        taxonomyService.reloadIfChanged();
+        assertNotEquals(built, Files.getLastModifiedTime(path));
+        assertEquals("JVM Developer", service.similarRoles(List.of(1, 3), List.of(), 1).get(0).title());
+
+        // And a restart against the reloaded taxonomy maps it again
+        Files.setLastModifiedTime(path, built);
+        roleMatchService(taxonomyService, path, "file:" + roles);
+        assertEquals(built, Files.getLastModifiedTime(path));
+    }
+
+    private static RoleMatchService roleMatchService(SkillTaxonomyService taxonomyService, Path path)
+            throws Exception {
+        return roleMatchService(taxonomyService, path, "classpath:taxonomy/roles.csv");
+    }
+
+    private static RoleMatchService roleMatchService(SkillTaxonomyService taxonomyService, Path path,
+                                                     String rolesLocation) throws Exception {
+        RoleMatchService service = new RoleMatchService(taxonomyService, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "rolesLocation", rolesLocation);
+        ReflectionTestUtils.setField(service, "indexPath", path.toString());
+        ReflectionTestUtils.setField(service, "dimensions", 64);
+        ReflectionTestUtils.setField(service, "m", 16);
+        ReflectionTestUtils.setField(service, "efConstruction", 100);
+        ReflectionTestUtils.setField(service, "efSearch", 64);
+        ReflectionTestUtils.setField(service, "candidates", 3);
+        service.load();
+        return service;
+    }
+
+    private static float[] randomVector(Random random, int dim) {
+        float[] vector = new float[dim];
+        for (int d = 0; d < dim; d++) {
+            vector[d] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
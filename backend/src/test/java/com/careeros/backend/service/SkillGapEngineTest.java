@@ -0,0 +1,104 @@
+package com.careeros.backend.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SkillGapEngineTest {
+
+    private static SkillTaxonomyService taxonomyService;
+
+    private static SkillGapEngine engine;
+
+    @BeforeAll
+    static void load() throws Exception {
+        taxonomyService = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(taxonomyService, "location", "classpath:taxonomy/skills.csv");
+        taxonomyService.load();
+
+        engine = new SkillGapEngine(taxonomyService, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "location", "classpath:taxonomy/roles.csv");
+        engine.load();
+    }
+
+    private static List<Integer> ids(String... terms) {
+        return taxonomyService.normalize(List.of(terms)).ids();
+    }
+
+    @Test
+    void gapsAreTheBestRolesRequirementsTheUserLacks() {
+        SkillGapEngine.RoleMatch match = engine.bestMatch(
+                ids("java", "spring boot", "sql", "postgres", "rest api", "git"), ids("backend"));
+
+        assertEquals("Backend Engineer", match.title());
+        assertEquals(0.75, match.matchScore(), 1e-9);
+        assertEquals(List.of("Microservices", "Docker"),
+                engine.skillGaps(ids("java", "spring boot", "sql", "postgres", "rest api", "git"), ids("backend")));
+    }
+
+    @Test
+    void interestsPreferRolesInThatField() {
+        List<Integer> skills = ids("python", "postgres", "pandas", "numpy", "docker", "git");
+
+        assertEquals("Python Backend Engineer", engine.bestMatch(skills, ids("backend")).title());
+        assertEquals("Data Scientist", engine.bestMatch(skills, ids("data science")).title());
+    }
+
+    @Test
+    void userWithAllSkillsHasNoGaps() {
+        assertEquals(List.of(), engine.skillGaps(
+                ids("figma", "ux", "html", "css", "communication"), ids("ui/ux design")));
+    }
+
+    @Test
+    void noRoleSharingASkillMeansNoMatch() {
+        // An interest alone used to pick a role in that field with a score of 0
+        assertNull(engine.bestMatch(List.of(), ids("backend")));
+        assertNull(engine.bestMatch(ids("basket weaving"), List.of()));
+        assertEquals(List.of(), engine.skillGaps(List.of(), ids("backend")));
+    }
+
+    @Test
+    void rolesAreResolvedAgainWhenTheTaxonomyIsReloaded(@TempDir Path dir) throws Exception {
+        Path skills = dir.resolve("skills.csv");
+        Path roles = dir.resolve("roles.csv");
+        Files.writeString(skills, "1,Java\n2,Kotlin,jvmlang\n");
+        Files.writeString(roles, "JVM Developer,,Java,jvmlang\n");
+        SkillTaxonomyService reloading = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(reloading, "location", "file:" + skills);
+        reloading.load();
+        SkillGapEngine roleEngine = new SkillGapEngine(reloading, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(roleEngine, "location", "file:" + roles);
+        roleEngine.load();
+        assertEquals(List.of(2), roleEngine.bestMatch(List.of(1), List.of()).missingSkillIds());
+
+        Files.writeString(skills, "1,Java\n2,Kotlin\n3,Scala,jvmlang\n");
+        Files.setLastModifiedTime(skills, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        reloading.reloadIfChanged();
+        assertEquals(List.of(3), roleEngine.bestMatch(List.of(1), List.of()).missingSkillIds());
+
+        // Roles that no longer resolve keep the previous matrix
+        Files.writeString(skills, "1,Java\n");
+        Files.setLastModifiedTime(skills, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        reloading.reloadIfChanged();
+        assertEquals(List.of(3), roleEngine.bestMatch(List.of(1), List.of()).missingSkillIds());
+    }
+
+    @Test
+    void rolesMustUseTaxonomySkills() {
+        assertThrows(IllegalArgumentException.class, () -> SkillGapEngine.parse(
+                new StringReader("Wizard,,Java,Spellcasting\n"), taxonomyService.getTaxonomy()));
+    }
+}
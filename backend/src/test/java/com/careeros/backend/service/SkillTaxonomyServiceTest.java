@@ -0,0 +1,78 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.payload.request.CareerRecommendationRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SkillTaxonomyServiceTest {
+
+    private static SkillTaxonomyService service(String location) throws Exception {
+        SkillTaxonomyService service = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "location", location);
+        service.load();
+        return service;
+    }
+
+    @Test
+    void spellingsOfOneSkillShareItsId() throws Exception {
+        SkillTaxonomy taxonomy = service("classpath:taxonomy/skills.csv").getTaxonomy();
+        int javascript = taxonomy.lookup("JavaScript");
+        for (String spelling : List.of("JS", "javascript", "Java Script", "java-script", " ES6 ")) {
+            assertEquals(javascript, taxonomy.lookup(spelling), spelling);
+        }
+        assertEquals("C++", taxonomy.canonicalName(taxonomy.lookup("cpp")));
+        assertEquals("C#", taxonomy.canonicalName(taxonomy.lookup("c sharp")));
+        assertEquals(SkillTaxonomy.UNKNOWN, taxonomy.lookup("Java Scrip"));
+        assertEquals(SkillTaxonomy.UNKNOWN, taxonomy.lookup("--"));
+    }
+
+    @Test
+    void normalizesRequestTermsAndKeepsUnknownOnes() throws Exception {
+        SkillTaxonomyService service = service("classpath:taxonomy/skills.csv");
+        CareerRecommendationRequest request = new CareerRecommendationRequest(1,
+                List.of("js", "JavaScript", "spring-boot", "  Basket   weaving ", "basket weaving"), 3,
+                List.of("back end", "Cloud"));
+
+        service.normalize(request);
+
+        assertEquals(List.of("JavaScript", "Spring Boot", "Basket weaving"), request.getSkills());
+        assertEquals(List.of(2, 30), request.getSkillIds());
+        assertEquals(List.of("Backend Development", "Cloud Computing"), request.getInterests());
+    }
+
+    @Test
+    void rejectsAmbiguousDictionaries() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SkillTaxonomy.parse(new StringReader("1,Go,golang\n2,Golang\n")));
+        assertThrows(IllegalArgumentException.class,
+                () -> SkillTaxonomy.parse(new StringReader("1,Go\n1,Rust\n")));
+    }
+
+    @Test
+    void reloadsChangedFileAndKeepsOldVersionOnError(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("skills.csv");
+        Files.writeString(file, "1,Java\n");
+        SkillTaxonomyService service = service("file:" + file);
+
+        Files.writeString(file, "1,Java\n2,Kotlin,kt\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+        service.reloadIfChanged();
+        assertEquals(2, service.getTaxonomy().lookup("KT"));
+
+        Files.writeString(file, "not a dictionary\n");
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 20_000));
+        service.reloadIfChanged();
+        assertEquals(2, service.getTaxonomy().size());
+    }
+}
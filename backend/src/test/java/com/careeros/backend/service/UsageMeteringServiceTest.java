@@ -0,0 +1,118 @@
+package com.careeros.backend.service;
+
+import com.careeros.backend.config.AISchedulerProperties;
+import com.careeros.backend.payload.request.AIAnalysisRequest;
+import com.careeros.backend.payload.response.AIUsageResponse;
+import com.careeros.backend.repository.AIUsageRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.ExpectedCount.times;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+/**
+ * Usage is billed once per successful logical call and flushed with plain SQL,
+ * checked here against H2.
+ */
+class UsageMeteringServiceTest {
+
+    private static final String ANALYSIS = """
+            {"analysisId":"a-1","userId":7,"analysisType":"general","status":"completed"}""";
+
+    private final DriverManagerDataSource dataSource =
+            new DriverManagerDataSource("jdbc:h2:mem:usage-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+    private final AIUsageRepository repository = Mockito.mock(AIUsageRepository.class);
+
+    private final UsageMeteringService metering = new UsageMeteringService(jdbcTemplate,
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)), repository);
+
+    UsageMeteringServiceTest() {
+        jdbcTemplate.execute("CREATE TABLE ai_usage (user_id BIGINT PRIMARY KEY, call_count BIGINT NOT NULL, "
+                + "bytes_analyzed BIGINT NOT NULL, upstream_time_ms BIGINT NOT NULL, updated_at TIMESTAMP)");
+        Mockito.when(repository.findById(Mockito.anyLong())).thenReturn(Optional.empty());
+    }
+
+    private Map<String, Object> row(long userId) {
+        return jdbcTemplate.queryForMap("SELECT call_count, bytes_analyzed FROM ai_usage WHERE user_id = ?", userId);
+    }
+
+    @Test
+    void flushInsertsNewUsersAndAddsToExistingRows() {
+        metering.record(1, 100, 2_000_000);
+        metering.record(1, 50, 0);
+        metering.record(2, 10, 0);
+        metering.flush();
+        assertEquals(Map.of("CALL_COUNT", 2L, "BYTES_ANALYZED", 150L), row(1));
+        assertEquals(Map.of("CALL_COUNT", 1L, "BYTES_ANALYZED", 10L), row(2));
+
+        metering.record(1, 25, 0);
+        metering.flush();
+        assertEquals(Map.of("CALL_COUNT", 3L, "BYTES_ANALYZED", 175L), row(1));
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT upstream_time_ms FROM ai_usage WHERE user_id = 1",
+                Long.class));
+    }
+
+    @Test
+    void failedFlushKeepsEverythingForTheNextOne() {
+        metering.record(1, 100, 0);
+        jdbcTemplate.execute("ALTER TABLE ai_usage RENAME TO ai_usage_offline");
+        metering.flush();
+        jdbcTemplate.execute("ALTER TABLE ai_usage_offline RENAME TO ai_usage");
+
+        metering.record(1, 1, 0);
+        metering.flush();
+        assertEquals(Map.of("CALL_COUNT", 2L, "BYTES_ANALYZED", 101L), row(1));
+    }
+
+    @Test
+    void retriedAndFailedCallsAreBilledOnce() {
+        RestTemplate restTemplate = new RestTemplate();
+        MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+        AIRetryExecutor retryExecutor =
+                new AIRetryExecutor(new AIScheduler(new AISchedulerProperties(), new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(retryExecutor, "maxAttempts", 3);
+        ReflectionTestUtils.setField(retryExecutor, "baseDelayMs", 0L);
+        ReflectionTestUtils.setField(retryExecutor, "budgetMaxTokens", 20L);
+        ReflectionTestUtils.invokeMethod(retryExecutor, "fillBudget");
+        AIService aiService = new AIService(restTemplate, metering, retryExecutor, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(aiService, "aiServiceUrl", "http://ai");
+
+        // Two refused attempts, then one that succeeds: one call, one request's bytes.
+        // Then a call that never succeeds, which is not billed at all.
+        upstream.expect(times(2), requestTo("http://ai/api/v1/ai/analyze"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+        upstream.expect(requestTo("http://ai/api/v1/ai/analyze"))
+                .andRespond(withSuccess(ANALYSIS, MediaType.APPLICATION_JSON));
+        upstream.expect(times(3), requestTo("http://ai/api/v1/ai/analyze"))
+                .andRespond(withStatus(HttpStatus.SERVICE_UNAVAILABLE));
+
+        aiService.analyzeContent(new AIAnalysisRequest(7, "four", "general"));
+        assertThrows(AIServiceUnavailableException.class,
+                () -> aiService.analyzeContent(new AIAnalysisRequest(7, "four", "general")));
+        upstream.verify();
+
+        AIUsageResponse usage = metering.getUsage(7L);
+        assertEquals(List.of(1L, 4L), List.of(usage.getCallCount(), usage.getBytesAnalyzed()));
+    }
+}
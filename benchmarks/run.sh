@@ -0,0 +1,18 @@
+#!/usr/bin/env bash
+# Build the benchmarks against the current backend sources and run them with the GC profiler.
+# Results are written to results/<commit>.json so runs from different commits can be compared.
+# Extra arguments are passed to JMH, e.g. ./run.sh JwtBenchmark
+set -euo pipefail
+
+cd "$(dirname "$0")"
+
+commit=$(git rev-parse --short HEAD)
+if ! git diff --quiet HEAD -- ../backend/src; then
+    commit="${commit}-dirty"
+fi
+
+mkdir -p results
+mvn -B -q package
+java -jar target/benchmarks.jar -prof gc -rf json -rff "results/${commit}.json" "$@"
+
+echo "Results written to results/${commit}.json"
@@ -0,0 +1,74 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.security.AuthAuditEvent;
+import com.careeros.backend.security.AuthAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What a request thread pays to record an authentication event, with four threads
+ * publishing at once and the writer thread appending to target/auth-audit.log.
+ * Publishers outrun the file, so in drop mode most events are dropped once the buffer
+ * fills; the published/dropped split is printed at the end of the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class AuthAuditLogBenchmark {
+
+    @Param({"drop", "block"})
+    private String overflow;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AuthAuditLog auditLog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        auditLog = new AuthAuditLog(Fixtures.objectMapper(), null, meterRegistry);
+        ReflectionTestUtils.setField(auditLog, "enabled", true);
+        ReflectionTestUtils.setField(auditLog, "bufferSize", 8192);
+        ReflectionTestUtils.setField(auditLog, "batchSize", 256);
+        ReflectionTestUtils.setField(auditLog, "overflow", overflow);
+        ReflectionTestUtils.setField(auditLog, "maxBlockMs", 50L);
+        ReflectionTestUtils.setField(auditLog, "filePath", "target/auth-audit.log");
+        ReflectionTestUtils.setField(auditLog, "fileMaxBytes", 10_485_760L);
+        ReflectionTestUtils.setField(auditLog, "fileMaxFiles", 2);
+        ReflectionTestUtils.setField(auditLog, "jdbcEnabled", false);
+        auditLog.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        auditLog.stop();
+        System.out.printf("%n%s: published %.0f, dropped %.0f%n", overflow,
+                meterRegistry.counter("auth.audit.events", "outcome", "published").count(),
+                meterRegistry.counter("auth.audit.events", "outcome", "dropped").count());
+    }
+
+    @Benchmark
+    public boolean publish() {
+        return auditLog.publish(AuthAuditEvent.Type.SIGN_IN, "benchmark-user", 42L, "10.0.0.1", null);
+    }
+}
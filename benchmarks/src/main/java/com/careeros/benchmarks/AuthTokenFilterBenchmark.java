@@ -0,0 +1,100 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.security.AuthTokenFilter;
+import com.careeros.backend.security.JwtUtils;
+import com.careeros.backend.security.UserDetailsImpl;
+import com.careeros.backend.security.UserDetailsServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The whole per-request authentication path: header parsing, JWT verification,
+ * the (stubbed) user lookup and populating the security context, including what the
+ * filter and JwtUtils log along the way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenFilterBenchmark {
+
+    private AuthTokenFilter filter;
+    private String authorizationHeader;
+    private String expiredAuthorizationHeader;
+
+    /** Returns a prebuilt user so the benchmark measures the filter, not a database */
+    static class StubUserDetailsService extends UserDetailsServiceImpl {
+        private final UserDetails user = UserDetailsImpl.build(Fixtures.user());
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            return user;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        JwtUtils jwtUtils = Fixtures.jwtUtils();
+        filter = new AuthTokenFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtils", jwtUtils);
+        ReflectionTestUtils.setField(filter, "userDetailsService", new StubUserDetailsService());
+        ReflectionTestUtils.setField(filter, "authAuditLog", Fixtures.disabledAuthAuditLog());
+        authorizationHeader = "Bearer " + jwtUtils.generateJwtToken(Fixtures.authentication());
+
+        JwtUtils expiring = Fixtures.jwtUtils();
+        ReflectionTestUtils.setField(expiring, "jwtExpirationMs", -60_000);
+        expiredAuthorizationHeader = "Bearer " + expiring.generateJwtToken(Fixtures.authentication());
+    }
+
+    @Benchmark
+    public Object authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/ai/analyze");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    /** A client that keeps sending a token that has expired */
+    @Benchmark
+    public Object expiredTokenRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/ai/analyze");
+        request.addHeader("Authorization", expiredAuthorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    @Benchmark
+    public Object anonymousRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/ai/health");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+}
@@ -0,0 +1,64 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.service.CourseCatalog;
+import com.careeros.backend.service.SkillTaxonomyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseCatalogBenchmark {
+
+    /** Courses added on top of taxonomy/courses.csv, spread over every skill id */
+    @Param({"0", "50000"})
+    private int extraCourses;
+
+    private CourseCatalog catalog;
+
+    private List<Integer> gaps;
+
+    @Setup
+    public void setUp() {
+        SkillTaxonomyService taxonomyService = Fixtures.skillTaxonomyService();
+        catalog = Fixtures.courseCatalog(taxonomyService);
+
+        Random random = new Random(1);
+        int idLimit = taxonomyService.getTaxonomy().idLimit();
+        for (int i = 0; i < extraCourses; i++) {
+            List<Integer> skills = new ArrayList<>();
+            int skillCount = 1 + random.nextInt(4);
+            while (skills.size() < skillCount) {
+                int id = random.nextInt(idLimit);
+                if (taxonomyService.getTaxonomy().canonicalName(id) != null) {
+                    skills.add(id);
+                }
+            }
+            catalog.upsert(new CourseCatalog.Course("synthetic-" + i, "Course " + i, "Platform", "4 weeks",
+                    1 + random.nextInt(40) / 10.0, skills));
+        }
+        gaps = taxonomyService.normalize(List.of("microservices", "docker", "kubernetes")).ids();
+    }
+
+    @Benchmark
+    public List<CourseCatalog.Course> topCourses() {
+        return catalog.topCourses(gaps, 5);
+    }
+}
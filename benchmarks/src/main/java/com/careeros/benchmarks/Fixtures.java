@@ -0,0 +1,184 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.model.Role;
+import com.careeros.backend.model.User;
+import com.careeros.backend.payload.response.AIAnalysisResponse;
+import com.careeros.backend.payload.response.CareerRecommendationResponse;
+import com.careeros.backend.security.AuthAuditLog;
+import com.careeros.backend.security.JwtUtils;
+import com.careeros.backend.security.UserDetailsImpl;
+import com.careeros.backend.service.CourseCatalog;
+import com.careeros.backend.service.RoleMatchService;
+import com.careeros.backend.service.SkillGapEngine;
+import com.careeros.backend.service.SkillTaxonomy;
+import com.careeros.backend.service.SkillTaxonomyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Objects shaped like the ones the backend sees in production, built without a Spring context.
+ */
+final class Fixtures {
+
+    static final String JWT_SECRET =
+            "benchmarkSecretKey123456789benchmarkSecretKey123456789benchmarkSecretKey123456789";
+
+    /** Backend resources are not on the benchmark classpath; run.sh starts the JAR from this module */
+    static final Path BACKEND_RESOURCES = Path.of("../backend/src/main/resources");
+
+    private Fixtures() {}
+
+    static JwtUtils jwtUtils() {
+        JwtUtils jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.invokeMethod(jwtUtils, "registerMetrics", new SimpleMeterRegistry());
+        return jwtUtils;
+    }
+
+    /** Disabled, so filter benchmarks leave the audit path to AuthAuditLogBenchmark */
+    static AuthAuditLog disabledAuthAuditLog() {
+        AuthAuditLog auditLog = new AuthAuditLog(objectMapper(), null, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(auditLog, "enabled", false);
+        return auditLog;
+    }
+
+    static User user() {
+        User user = new User("johndoe", "john@example.com", "John", "Doe",
+                "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z7rS1ZQ1hL0c5m0y1Qy0uG1e");
+        user.setId(42L);
+        user.setRoles(Set.of(Role.ROLE_USER, Role.ROLE_CANDIDATE));
+        return user;
+    }
+
+    static SkillTaxonomy skillTaxonomy() {
+        try (Reader reader = Files.newBufferedReader(BACKEND_RESOURCES.resolve("taxonomy/skills.csv"))) {
+            return SkillTaxonomy.parse(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static SkillTaxonomyService skillTaxonomyService() {
+        SkillTaxonomyService service = new SkillTaxonomyService(new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "location",
+                "file:" + BACKEND_RESOURCES.resolve("taxonomy/skills.csv"));
+        ReflectionTestUtils.invokeMethod(service, "load");
+        return service;
+    }
+
+    static SkillGapEngine skillGapEngine(SkillTaxonomyService taxonomyService) {
+        SkillGapEngine engine = new SkillGapEngine(taxonomyService, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(engine, "location", "file:" + BACKEND_RESOURCES.resolve("taxonomy/roles.csv"));
+        ReflectionTestUtils.invokeMethod(engine, "load");
+        return engine;
+    }
+
+    static CourseCatalog courseCatalog(SkillTaxonomyService taxonomyService) {
+        CourseCatalog catalog = new CourseCatalog(taxonomyService, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(catalog, "location", "file:" + BACKEND_RESOURCES.resolve("taxonomy/courses.csv"));
+        ReflectionTestUtils.invokeMethod(catalog, "load");
+        return catalog;
+    }
+
+    static RoleMatchService roleMatchService(SkillTaxonomyService taxonomyService) {
+        RoleMatchService service = new RoleMatchService(taxonomyService, new DefaultResourceLoader());
+        ReflectionTestUtils.setField(service, "rolesLocation", "file:" + BACKEND_RESOURCES.resolve("taxonomy/roles.csv"));
+        ReflectionTestUtils.setField(service, "indexPath", "target/role-index.bin");
+        ReflectionTestUtils.setField(service, "dimensions", 64);
+        ReflectionTestUtils.setField(service, "m", 16);
+        ReflectionTestUtils.setField(service, "efConstruction", 100);
+        ReflectionTestUtils.setField(service, "efSearch", 64);
+        ReflectionTestUtils.setField(service, "candidates", 3);
+        ReflectionTestUtils.invokeMethod(service, "load");
+        return service;
+    }
+
+    static Authentication authentication() {
+        UserDetailsImpl principal = UserDetailsImpl.build(user());
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    /** The ObjectMapper settings Spring Boot applies by default */
+    static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    static AIAnalysisResponse analysisResponse(int contentChars) {
+        StringBuilder content = new StringBuilder(contentChars);
+        String sentence = "Led a team of five engineers delivering a Java and Spring Boot platform. ";
+        while (content.length() < contentChars) {
+            content.append(sentence);
+        }
+        content.setLength(contentChars);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("summary", "Experienced backend engineer with strong distributed systems background.");
+        result.put("strengths", List.of("Java", "Spring Boot", "PostgreSQL", "System design", "Mentoring"));
+        result.put("weaknesses", List.of("Frontend frameworks", "Cloud cost management"));
+        result.put("scores", Map.of("clarity", 0.82, "impact", 0.74, "relevance", 0.91));
+        result.put("keywords", keywords(40));
+
+        return new AIAnalysisResponse("analysis-7f3c2a", 42, content.toString(), "resume", result,
+                0.87, 1240, LocalDateTime.of(2025, 1, 15, 10, 30), "completed");
+    }
+
+    static CareerRecommendationResponse careerRecommendationResponse() {
+        List<Map<String, Object>> recommendations = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> recommendation = new LinkedHashMap<>();
+            recommendation.put("title", "Senior Backend Engineer " + i);
+            recommendation.put("matchScore", 0.9 - i * 0.05);
+            recommendation.put("salaryRange", Map.of("min", 90000 + i * 5000, "max", 140000 + i * 5000));
+            recommendation.put("requiredSkills", keywords(8));
+            recommendation.put("description", "Design and operate high throughput services for a growing platform.");
+            recommendations.add(recommendation);
+        }
+
+        List<Map<String, Object>> courses = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            courses.add(Map.of(
+                    "title", "Distributed Systems in Practice " + i,
+                    "provider", "Coursera",
+                    "url", "https://example.com/courses/" + i,
+                    "durationHours", 20 + i));
+        }
+
+        Map<String, Object> marketTrends = new LinkedHashMap<>();
+        marketTrends.put("region", "Dhaka");
+        marketTrends.put("demandGrowth", 0.12);
+        marketTrends.put("topSkills", keywords(10));
+        marketTrends.put("averageSalary", 118000);
+
+        return new CareerRecommendationResponse("recommendation-19ab4c", 42, recommendations,
+                keywords(10), courses, marketTrends, 0.81, LocalDateTime.of(2025, 1, 15, 10, 30));
+    }
+
+    private static List<String> keywords(int count) {
+        List<String> keywords = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keywords.add("skill-" + i);
+        }
+        return keywords;
+    }
+}
@@ -0,0 +1,58 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.security.JwtUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtils jwtUtils;
+    private Authentication authentication;
+    private String token;
+    private String forgedToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtils = Fixtures.jwtUtils();
+        authentication = Fixtures.authentication();
+        token = jwtUtils.generateJwtToken(authentication);
+
+        JwtUtils forger = Fixtures.jwtUtils();
+        ReflectionTestUtils.setField(forger, "jwtSecret", Fixtures.JWT_SECRET.replace("benchmark", "forgedKey"));
+        forgedToken = forger.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtUtils.generateJwtToken(authentication);
+    }
+
+    @Benchmark
+    public String getUserNameFromValidJwtToken() {
+        return jwtUtils.getUserNameFromValidJwtToken(token);
+    }
+
+    /** Signed with another key: the rejection path, with its rate-limited ERROR line */
+    @Benchmark
+    public String rejectForgedSignature() {
+        return jwtUtils.getUserNameFromValidJwtToken(forgedToken);
+    }
+}
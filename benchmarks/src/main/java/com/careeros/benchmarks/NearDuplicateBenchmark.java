@@ -0,0 +1,85 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.payload.request.AIAnalysisRequest;
+import com.careeros.backend.payload.response.AIAnalysisResponse;
+import com.careeros.backend.service.AnalysisReuseService;
+import com.careeros.backend.service.ContentFingerprint;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearDuplicateBenchmark {
+
+    /** Characters of content, roughly a resume and a long document */
+    @Param({"5000", "200000"})
+    private int contentChars;
+
+    private String content;
+
+    private AnalysisReuseService service;
+
+    private AIAnalysisRequest request;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        StringBuilder text = new StringBuilder(contentChars + 16);
+        while (text.length() < contentChars) {
+            text.append("word").append(random.nextInt(5000)).append(' ');
+        }
+        content = text.toString();
+
+        service = new AnalysisReuseService(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        ReflectionTestUtils.setField(service, "threshold", 0.9);
+        ReflectionTestUtils.setField(service, "mode", "reuse");
+        ReflectionTestUtils.setField(service, "ttlMs", Long.MAX_VALUE / 2);
+        ReflectionTestUtils.setField(service, "maxEntries", 100_000);
+
+        // Earlier analyses of other users, then the one that will be reused
+        for (int user = 2; user < 10_000; user++) {
+            remember(user, "word" + user + " " + content.substring(0, 200));
+        }
+        remember(1, content);
+        request = new AIAnalysisRequest(1, content + " one more line", "resume");
+    }
+
+    private void remember(long userId, String text) {
+        service.analyze(userId, new AIAnalysisRequest((int) userId, text, "resume"),
+                () -> new AIAnalysisResponse("analysis-" + userId, (int) userId, text, "resume", Map.of(), 0.9, 0,
+                        LocalDateTime.now(), "completed"));
+    }
+
+    @Benchmark
+    public long[] signature() {
+        return ContentFingerprint.signature(content);
+    }
+
+    @Benchmark
+    public AnalysisReuseService.Result reuse() {
+        return service.analyze(1, request, () -> {
+            throw new IllegalStateException("expected a near duplicate");
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.payload.response.AIAnalysisResponse;
+import com.careeros.backend.payload.response.CareerRecommendationResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the AI responses the backend returns to clients.
+ * contentChars covers a short cover letter up to a long resume.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    @Param({"2000", "20000", "200000"})
+    private int contentChars;
+
+    private ObjectWriter analysisWriter;
+    private ObjectWriter recommendationWriter;
+    private AIAnalysisResponse analysisResponse;
+    private CareerRecommendationResponse recommendationResponse;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        analysisWriter = objectMapper.writerFor(AIAnalysisResponse.class);
+        recommendationWriter = objectMapper.writerFor(CareerRecommendationResponse.class);
+        analysisResponse = Fixtures.analysisResponse(contentChars);
+        recommendationResponse = Fixtures.careerRecommendationResponse();
+    }
+
+    @Benchmark
+    public byte[] analysisResponse() throws Exception {
+        return analysisWriter.writeValueAsBytes(analysisResponse);
+    }
+
+    @Benchmark
+    public byte[] careerRecommendationResponse() throws Exception {
+        return recommendationWriter.writeValueAsBytes(recommendationResponse);
+    }
+}
@@ -0,0 +1,126 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.service.RoleMatchService;
+import com.careeros.backend.service.RoleVectorIndex;
+import com.careeros.backend.service.SkillTaxonomyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HNSW search against an exact scan of the same memory-mapped vectors, over synthetic
+ * role profiles embedded the way RoleMatchService embeds them. Recall@10 of the HNSW
+ * search is printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoleVectorIndexBenchmark {
+
+    private static final int K = 10;
+
+    private static final int QUERIES = 200;
+
+    @Param({"50000"})
+    private int roles;
+
+    @Param({"64"})
+    private int ef;
+
+    private Path file;
+
+    private RoleVectorIndex index;
+
+    private float[][] queries;
+
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SkillTaxonomyService taxonomyService = Fixtures.skillTaxonomyService();
+        RoleMatchService embedder = Fixtures.roleMatchService(taxonomyService);
+        int idLimit = taxonomyService.getTaxonomy().idLimit();
+        Random random = new Random(3);
+
+        List<float[]> vectors = new ArrayList<>(roles);
+        List<String> titles = new ArrayList<>(roles);
+        for (int i = 0; i < roles; i++) {
+            vectors.add(embedder.embed(randomSkills(random, idLimit, 4 + random.nextInt(8)),
+                    randomSkills(random, idLimit, 1)));
+            titles.add("Role " + i);
+        }
+        file = Files.createTempFile("role-index", ".bin");
+        RoleVectorIndex.build(file, vectors, titles, 16, 100, 0);
+        index = RoleVectorIndex.open(file);
+
+        queries = new float[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            queries[i] = embedder.embed(randomSkills(random, idLimit, 3 + random.nextInt(10)),
+                    randomSkills(random, idLimit, 1 + random.nextInt(2)));
+        }
+
+        int found = 0;
+        for (float[] query : queries) {
+            Set<Integer> exact = new HashSet<>();
+            index.exactSearch(query, K).forEach(hit -> exact.add(hit.role()));
+            for (RoleVectorIndex.Hit hit : index.search(query, K, ef)) {
+                if (exact.contains(hit.role())) {
+                    found++;
+                }
+            }
+        }
+        System.out.printf("%nrecall@%d with ef=%d over %d roles: %.3f%n", K, ef, roles,
+                found / (double) (K * QUERIES));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<RoleVectorIndex.Hit> hnsw() {
+        return index.search(nextQuery(), K, ef);
+    }
+
+    @Benchmark
+    public List<RoleVectorIndex.Hit> bruteForce() {
+        return index.exactSearch(nextQuery(), K);
+    }
+
+    private float[] nextQuery() {
+        next = (next + 1) % QUERIES;
+        return queries[next];
+    }
+
+    private static int[] randomSkills(Random random, int idLimit, int count) {
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = random.nextInt(idLimit);
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,46 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.service.SkillGapEngine;
+import com.careeros.backend.service.SkillTaxonomyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillGapBenchmark {
+
+    private SkillGapEngine engine;
+
+    private List<Integer> skillIds;
+
+    private List<Integer> interestIds;
+
+    @Setup
+    public void setUp() {
+        SkillTaxonomyService taxonomyService = Fixtures.skillTaxonomyService();
+        engine = Fixtures.skillGapEngine(taxonomyService);
+        skillIds = taxonomyService.normalize(List.of("java", "spring boot", "sql", "postgres", "rest api", "git",
+                "python", "react")).ids();
+        interestIds = taxonomyService.normalize(List.of("backend", "cloud")).ids();
+    }
+
+    @Benchmark
+    public List<String> skillGaps() {
+        return engine.skillGaps(skillIds, interestIds);
+    }
+}
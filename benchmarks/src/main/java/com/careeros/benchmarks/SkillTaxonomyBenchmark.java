@@ -0,0 +1,49 @@
+package com.careeros.benchmarks;
+
+import com.careeros.backend.service.SkillTaxonomy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SkillTaxonomyBenchmark {
+
+    /** A request's worth of skills as users type them, including one the taxonomy does not know */
+    private static final List<String> SKILLS = List.of("Java Script", "spring-boot", "PostgreSQL", "k8s", "AWS",
+            "React.js", "docker", "Python 3", "REST API", "quantum basket weaving");
+
+    private SkillTaxonomy taxonomy;
+
+    @Setup
+    public void setUp() {
+        taxonomy = Fixtures.skillTaxonomy();
+    }
+
+    @Benchmark
+    public int lookupOne() {
+        return taxonomy.lookup("Spring Boot");
+    }
+
+    @Benchmark
+    public void lookupRequest(Blackhole blackhole) {
+        for (String skill : SKILLS) {
+            blackhole.consume(taxonomy.lookup(skill));
+        }
+    }
+}
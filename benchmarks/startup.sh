@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Compare time-to-ready of the default backend jar with the -Pfaststart artifact (Spring AOT + AppCDS).
+# Each variant is started RUNS times (default 5); time-to-ready is measured from launching the JVM
+# until /actuator/health/readiness answers 200. Both use ../backend/cds/training.properties, so no
+# Postgres or AI service is needed; set SPRING_DATASOURCE_URL etc. to start against a real database.
+# Usage: ./startup.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")"
+benchmarks_dir=$(pwd)
+backend_dir="${benchmarks_dir}/../backend"
+work_dir="${benchmarks_dir}/target/startup"
+runs="${1:-5}"
+port="${STARTUP_PORT:-18080}"
+config="--spring.config.additional-location=file:${backend_dir}/cds/training.properties"
+
+mkdir -p "${work_dir}"
+
+echo "Building default jar..."
+(cd "${backend_dir}" && mvn -B -q package -DskipTests)
+cp "${backend_dir}/target/backend-0.0.1-SNAPSHOT.jar" "${work_dir}/default.jar"
+
+echo "Building faststart artifact..."
+(cd "${backend_dir}" && mvn -B -q -Pfaststart package -DskipTests)
+rm -rf "${work_dir}/faststart"
+cp -r "${backend_dir}/target/faststart" "${work_dir}/faststart"
+
+# Prints milliseconds from launch until the readiness probe is up
+time_to_ready() {
+    local dir="$1"
+    shift
+    local start pid elapsed
+    start=$(date +%s%N)
+    (cd "${dir}" && exec java "$@" "${config}" --server.port="${port}" >"${work_dir}/last-run.log" 2>&1) &
+    pid=$!
+    until curl -sf "http://localhost:${port}/actuator/health/readiness" >/dev/null 2>&1; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "Backend exited before becoming ready, see ${work_dir}/last-run.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    kill "${pid}"
+    wait "${pid}" 2>/dev/null || true
+    echo "${elapsed}"
+}
+
+measure() {
+    local name="$1"
+    shift
+    local samples=()
+    for ((i = 1; i <= runs; i++)); do
+        samples+=("$(time_to_ready "$@")")
+    done
+    local sorted
+    sorted=$(printf '%s\n' "${samples[@]}" | sort -n)
+    printf '%-10s runs=%d min=%sms median=%sms max=%sms\n' "${name}" "${runs}" \
+        "$(echo "${sorted}" | head -1)" \
+        "$(echo "${sorted}" | sed -n "$(( (runs + 1) / 2 ))p")" \
+        "$(echo "${sorted}" | tail -1)"
+}
+
+echo "Measuring time-to-ready (${runs} runs each)..."
+measure default "${work_dir}" -jar default.jar
+measure faststart "${work_dir}/faststart" -XX:SharedArchiveFile=application.jsa -Xlog:cds=error \
+    -Dspring.aot.enabled=true -jar backend-0.0.1-SNAPSHOT.jar